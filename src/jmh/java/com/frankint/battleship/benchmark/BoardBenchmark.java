@@ -0,0 +1,76 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "END_GAME"})
+    public GamePhase phase;
+
+    private Board board;
+    private Coordinate target;
+    private Coordinate freeStart;
+
+    // fireShot and placeShip mutate the board, so every invocation gets a fresh copy of the position
+    @Setup(Level.Invocation)
+    public void setUp() {
+        board = phase.build().getPlayer2().getBoard();
+        target = phase.nextTarget(board);
+        freeStart = findFreeRow(board, 3);
+    }
+
+    @Benchmark
+    public ShotResult fireShot() {
+        return board.fireShot(target);
+    }
+
+    @Benchmark
+    public Board placeShip() {
+        board.placeShip("Extra", 3, freeStart, Orientation.HORIZONTAL);
+        return board;
+    }
+
+    private static Coordinate findFreeRow(Board board, int length) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x + length <= board.getWidth(); x++) {
+                boolean free = true;
+                for (int i = 0; i < length && free; i++) {
+                    free = !board.getOccupied().contains(Coordinate.of(x + i, y));
+                }
+                if (free) return Coordinate.of(x, y);
+            }
+        }
+        throw new IllegalStateException("No room for a ship of length " + length);
+    }
+
+    /**
+     * Placements per second for the server-side auto-placer, on the standard and on a large custom board.
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @State(Scope.Thread)
+    public static class AutoPlace {
+
+        @Param({"10", "100"})
+        public int size;
+
+        private final SplittableRandom rng = new SplittableRandom(7);
+
+        @Benchmark
+        public Board autoPlaceFleet() {
+            Board board = new Board(size, size);
+            board.autoPlace(ShipType.values(), rng);
+            return board;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.frankint.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the game topics cost over a whole game: every move mapped and serialized for both seats,
+ * either as a full GameDTO snapshot (how moves used to be sent) or as a MoveEventDTO.
+ * The game is played to the end with random shots from a fixed seed (183 moves).
+ * Bytes per game are printed once at setup; STOMP frame headers, one set per message either way, come on top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadcastBenchmark {
+
+    private static final List<String> SEATS = List.of("p1", "p2");
+
+    @Param({"snapshot", "event"})
+    public String payload;
+
+    private final GameMapper gameMapper = new GameMapper();
+    private ObjectMapper objectMapper;
+    private Game start;
+    private final List<Coordinate> moves = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().registerModule(new JacksonConfig().battleshipModule());
+        start = GamePhase.FRESH.build();
+
+        // Record one game's moves, so every invocation plays the same game
+        SplittableRandom rng = new SplittableRandom(7);
+        Game game = start.copy();
+        while (game.getState() == GameState.ACTIVE) {
+            Board target = (game.getCurrentTurnPlayerId().equals("p1") ? game.getPlayer2() : game.getPlayer1()).getBoard();
+            Coordinate cell;
+            do {
+                cell = Coordinate.of(rng.nextInt(10), rng.nextInt(10));
+            } while (target.isShotAt(cell));
+            game.fire(game.getCurrentTurnPlayerId(), cell);
+            moves.add(cell);
+        }
+        System.out.printf("%n%s: %d moves, %,d bytes per game%n", payload, moves.size(), playGame());
+    }
+
+    // Returns the bytes sent
+    @Benchmark
+    public long playGame() throws Exception {
+        Game game = start.copy();
+        long bytes = 0;
+        for (Coordinate target : moves) {
+            String shooter = game.getCurrentTurnPlayerId();
+            ShotResult result = game.fire(shooter, target);
+            for (String seat : SEATS) {
+                Object message = payload.equals("snapshot")
+                        ? gameMapper.toDTO(game, seat)
+                        : gameMapper.toMoveEventDTO(game, seat, shooter, List.of(new ShotDTO(target, result)));
+                bytes += objectMapper.writeValueAsBytes(message).length;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "END_GAME"})
+    public GamePhase phase;
+
+    private Game game;
+    private Coordinate target;
+
+    // Game.fire mutates the game (and finishes it in END_GAME), so rebuild it per invocation
+    @Setup(Level.Invocation)
+    public void setUp() {
+        game = phase.build();
+        target = phase.nextTarget(game.getPlayer2().getBoard());
+    }
+
+    @Benchmark
+    public ShotResult fire() {
+        return game.fire("p1", target);
+    }
+}
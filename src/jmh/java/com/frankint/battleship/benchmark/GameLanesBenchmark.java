@@ -0,0 +1,125 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.BattleshipApplication;
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.application.service.GameLanes;
+import com.frankint.battleship.application.service.GameService;
+import com.frankint.battleship.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves per second through GameService with 10k games in play at once, each round making one move in every game.
+ * <ul>
+ *   <li>lanes: every move is queued on its game's lane (GameLanes), as the STOMP handlers do.</li>
+ *   <li>pool: moves run on a fixed pool of two threads per core, the size of Spring's clientInboundChannel pool,
+ *       as they did before the lanes.</li>
+ * </ul>
+ * Runs on the journal persistence mode, so the numbers are about dispatch rather than the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 4) // A round is 10k moves: the first few run cold
+@Measurement(iterations = 5, time = 4)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class GameLanesBenchmark {
+
+    private static final int GAMES = 10_000;
+    private static final int MOVES_PER_GAME = 100; // Every water cell of rows 5-9, on both boards
+
+    @Param({"lanes", "pool"})
+    public String dispatch;
+
+    private Path journalDir;
+    private ConfigurableApplicationContext context;
+    private GameRepository repository;
+    private GameService gameService;
+    private GameLanes gameLanes;
+    private ExecutorService pool;
+    private final String[] gameIds = new String[GAMES];
+    private int round = MOVES_PER_GAME;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("battleship-journal");
+        context = new SpringApplicationBuilder(BattleshipApplication.class)
+                .properties(
+                        "battleship.persistence.mode=journal",
+                        "battleship.journal.dir=" + journalDir,
+                        "battleship.game-cache.max-size=" + GAMES,
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(GameRepository.class);
+        gameService = context.getBean(GameService.class);
+        gameLanes = context.getBean(GameLanes.class);
+        pool = Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDir);
+    }
+
+    // Out of misses: a fresh set of games, outside the measured round
+    @Setup(Level.Invocation)
+    public void refillGames() {
+        if (round < MOVES_PER_GAME) return;
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = startGame();
+        }
+        round = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void round() {
+        // Misses only, alternating players, so the games stay active
+        String playerId = round % 2 == 0 ? "alice" : "bob";
+        int cell = round / 2;
+        Coordinate target = Coordinate.of(cell % 10, 5 + cell / 10);
+        round++;
+
+        CompletableFuture<?>[] moves = new CompletableFuture<?>[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            String gameId = gameIds[i];
+            moves[i] = dispatch.equals("lanes")
+                    ? gameLanes.submit(gameId, () -> gameService.makeMove(gameId, playerId, target))
+                    : CompletableFuture.supplyAsync(() -> gameService.makeMove(gameId, playerId, target), pool);
+        }
+        CompletableFuture.allOf(moves).join();
+    }
+
+    private String startGame() {
+        Game game = new Game(new Player("alice", new Board(10, 10)));
+        game.join(new Player("bob", new Board(10, 10)));
+        game.placeFleet("alice", fleet());
+        game.placeFleet("bob", fleet());
+        return repository.save(game).getId();
+    }
+
+    private static List<ShipPlacement> fleet() {
+        return List.of(
+                new ShipPlacement(ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.BATTLESHIP, new Coordinate(0, 1), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.CRUISER, new Coordinate(0, 2), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.SUBMARINE, new Coordinate(0, 3), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.DESTROYER, new Coordinate(0, 4), Orientation.HORIZONTAL)
+        );
+    }
+}
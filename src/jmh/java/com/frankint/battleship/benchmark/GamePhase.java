@@ -0,0 +1,69 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.domain.model.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible game positions for the benchmarks.
+ * Both fleets are auto-placed from a fixed seed, then each board takes a number of shots.
+ */
+public enum GamePhase {
+    FRESH,    // Fleets placed, no shots yet
+    MID_GAME, // About a third of each board shot at
+    END_GAME; // Every cell but one ship cell shot at on each board
+
+    private static final long SEED = 42;
+
+    public Game build() {
+        SplittableRandom rng = new SplittableRandom(SEED);
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+        game.autoPlaceFleet("p1", rng);
+        game.autoPlaceFleet("p2", rng);
+
+        shoot(game.getPlayer1().getBoard(), rng);
+        shoot(game.getPlayer2().getBoard(), rng);
+        return game;
+    }
+
+    /**
+     * A cell that has not been shot at on the given board (the last ship cell in END_GAME).
+     */
+    public Coordinate nextTarget(Board board) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Coordinate c = Coordinate.of(x, y);
+                if (!board.isShotAt(c)) return c;
+            }
+        }
+        throw new IllegalStateException("Board is fully shot");
+    }
+
+    private void shoot(Board board, SplittableRandom rng) {
+        int[] order = new int[board.getWidth() * board.getHeight()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        int shots = switch (this) {
+            case FRESH -> 0;
+            case MID_GAME -> order.length / 3;
+            case END_GAME -> order.length;
+        };
+        for (int i = 0; i < shots; i++) {
+            Coordinate c = Coordinate.of(order[i] % board.getWidth(), order[i] / board.getWidth());
+            // Leave the last ship cell standing so the game is still ACTIVE
+            if (this == END_GAME && board.getRemainingShipCells() == 1 && isShipCell(board, c)) continue;
+            board.fireShot(c);
+        }
+    }
+
+    private static boolean isShipCell(Board board, Coordinate c) {
+        return board.getOccupied().contains(c);
+    }
+}
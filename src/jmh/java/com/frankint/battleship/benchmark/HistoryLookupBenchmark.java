@@ -0,0 +1,63 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.application.adapter.persistence.InMemoryGameRepository;
+import com.frankint.battleship.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History lookups in InMemoryGameRepository against stores of growing size. Every player has
+ * the same number of games, so the time per lookup should stay flat as the store grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HistoryLookupBenchmark {
+
+    private static final int GAMES_PER_PLAYER = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int storedGames;
+
+    private InMemoryGameRepository repository;
+    private int players;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryGameRepository();
+        // Two seats per game: each player sits in GAMES_PER_PLAYER games
+        players = storedGames * 2 / GAMES_PER_PLAYER;
+        // One shared board: lookups never read it, and a million games with their own boards need GBs of heap
+        Board board = new Board(10, 10);
+        for (int i = 0; i < storedGames; i++) {
+            Game game = new Game(new Player(player(i % players), board));
+            game.join(new Player(player((i + players / 2) % players), board));
+            repository.save(game);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lookup {
+        private final SplittableRandom random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public List<Game> findGamesByPlayer(Lookup lookup) {
+        return repository.findGamesByPlayer(player(lookup.random.nextInt(players)));
+    }
+
+    @Benchmark
+    public List<GameSummary> findGameSummaries(Lookup lookup) {
+        return repository.findGameSummaries(player(lookup.random.nextInt(players)), null, 20);
+    }
+
+    private static String player(int n) {
+        return "player-" + n;
+    }
+}
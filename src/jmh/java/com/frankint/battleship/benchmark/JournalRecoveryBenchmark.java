@@ -0,0 +1,75 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.JournalGameRepository;
+import com.frankint.battleship.infrastructure.persistence.journal.GameJournal;
+import com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameRecordCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup of the journal persistence mode: replaying a compacted journal (one record per game)
+ * of games 40 shots in back into memory.
+ * Games are kept in memory as their records, so 3g holds the million with room to spare; the heap is
+ * sized up front, as it would be in production, so the replay does not pay for growing it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+
+    // Record type of a saved game in JournalGameRepository
+    private static final byte SAVED = 1;
+    private static final int REGION = 64 << 20;
+
+    @Param({"100000", "1000000"})
+    public int storedGames;
+
+    private final GameRecordCodec codec = new GameRecordCodec(new BoardCodec());
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("battleship-journal");
+        SplittableRandom random = new SplittableRandom(42);
+        try (GameJournal journal = GameJournal.open(dir, REGION, (type, payload) -> {})) {
+            for (int i = 0; i < storedGames; i++) {
+                Game game = new Game(new Player("p" + random.nextInt(storedGames), new Board(10, 10)));
+                game.join(new Player("p" + random.nextInt(storedGames), new Board(10, 10)));
+                game.autoPlaceFleet(game.getPlayer1().getId(), random);
+                game.autoPlaceFleet(game.getPlayer2().getId(), random);
+                for (int shot = 0; shot < 40 && game.getState() == GameState.ACTIVE; shot++) {
+                    Board target = (shot % 2 == 0 ? game.getPlayer2() : game.getPlayer1()).getBoard();
+                    Coordinate cell;
+                    do {
+                        cell = Coordinate.of(random.nextInt(10), random.nextInt(10));
+                    } while (target.isShotAt(cell));
+                    game.fire(game.getCurrentTurnPlayerId(), cell);
+                }
+                journal.append(SAVED, codec.encode(game, 44, Instant.now(), true, true));
+            }
+            journal.force();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public JournalGameRepository recover() throws IOException {
+        return new JournalGameRepository(codec, dir, REGION, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.frankint.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.domain.model.Board;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param({"FRESH", "MID_GAME", "END_GAME"})
+    public GamePhase phase;
+
+    private final GameMapper gameMapper = new GameMapper();
+    private final BoardCodec boardCodec = new BoardCodec();
+    private ObjectMapper objectMapper;
+    private GameEntityMapper entityMapper;
+    private Game game;
+    private GameEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same configuration as the Spring-managed ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JacksonConfig().battleshipModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        entityMapper = new GameEntityMapper(objectMapper, boardCodec);
+        game = phase.build();
+        entity = entityMapper.toEntity(game);
+    }
+
+    @Benchmark
+    public GameDTO toDtoSelf() {
+        return gameMapper.toDTO(game, "p1");
+    }
+
+    @Benchmark
+    public GameDTO toDtoOpponent() {
+        return gameMapper.toDTO(game, "p2");
+    }
+
+    @Benchmark
+    public GameEntity toEntity() {
+        return entityMapper.toEntity(game);
+    }
+
+    @Benchmark
+    public Game toDomain() {
+        return entityMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public Game entityRoundTrip() {
+        return entityMapper.toDomain(entityMapper.toEntity(game));
+    }
+
+    @Benchmark
+    public Board boardBinaryRoundTrip() {
+        return boardCodec.decode(boardCodec.encode(game.getPlayer1().getBoard()));
+    }
+
+    // Legacy boardJson format, kept for comparison with the binary codec
+    @Benchmark
+    public Board boardJsonRoundTrip() throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(game.getPlayer1().getBoard()), Board.class);
+    }
+}
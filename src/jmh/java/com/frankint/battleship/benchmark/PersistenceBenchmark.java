@@ -0,0 +1,111 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.BattleshipApplication;
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves per second through the GameRepository of each persistence mode: load a game, fire one shot, save it.
+ * The JPA adapter runs on the tests' in-memory H2 database, so it never waits for a network or a disk;
+ * against a real Postgres the gap is wider. Write-behind moves are answered from memory and reach the
+ * database on its flush schedule, which keeps running during the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    private static final int GAMES = 1000;
+    private static final int MOVES_PER_GAME = 100; // Every water cell of rows 5-9, on both boards
+
+    @Param({"journal", "state", "write-behind"})
+    public String mode;
+
+    private Path journalDir;
+    private ConfigurableApplicationContext context;
+    private GameRepository repository;
+    private TransactionTemplate transactionTemplate; // Around load + save for the modes backed by JPA, as in GameService
+    private final String[] gameIds = new String[GAMES];
+    private final int[] moves = new int[GAMES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("battleship-journal");
+        context = new SpringApplicationBuilder(BattleshipApplication.class)
+                .properties(
+                        "battleship.persistence.mode=" + mode,
+                        "battleship.journal.dir=" + journalDir,
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(GameRepository.class);
+        if (!mode.equals("journal")) transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = startGame();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDir);
+    }
+
+    @Benchmark
+    public Game move() {
+        int i = next++ % GAMES;
+        if (moves[i] == MOVES_PER_GAME) {
+            // Out of misses: swap in a fresh game, once every 100 moves on it
+            gameIds[i] = startGame();
+            moves[i] = 0;
+        }
+        String gameId = gameIds[i];
+        int move = moves[i]++;
+        return transactionTemplate == null
+                ? fire(gameId, move)
+                : transactionTemplate.execute(status -> fire(gameId, move));
+    }
+
+    // Misses only, alternating players, so the game stays active
+    private Game fire(String gameId, int move) {
+        Game game = repository.findById(gameId).orElseThrow();
+        int cell = move / 2;
+        game.fire(move % 2 == 0 ? "alice" : "bob", Coordinate.of(cell % 10, 5 + cell / 10));
+        return repository.save(game);
+    }
+
+    private String startGame() {
+        Game game = new Game(new Player("alice", new Board(10, 10)));
+        game.join(new Player("bob", new Board(10, 10)));
+        game.placeFleet("alice", fleet());
+        game.placeFleet("bob", fleet());
+        return repository.save(game).getId();
+    }
+
+    private static List<ShipPlacement> fleet() {
+        return List.of(
+                new ShipPlacement(ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.BATTLESHIP, new Coordinate(0, 1), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.CRUISER, new Coordinate(0, 2), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.SUBMARINE, new Coordinate(0, 3), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.DESTROYER, new Coordinate(0, 4), Orientation.HORIZONTAL)
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.frankint.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.BoardFormat;
+import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.infrastructure.config.BinaryStompCodec;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One seat's GameDTO snapshot as a STOMP body, in each codec and board format a client can ask for.
+ * encode is what the server spends per frame: JSON serialization, or for CBOR sessions the transcoding
+ * of those JSON bytes. decode is a Java client reading the body back into a GameDTO.
+ * Body sizes are printed once at setup; STOMP headers come on top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StompCodecBenchmark {
+
+    @Param({"MID_GAME", "END_GAME"})
+    public GamePhase phase;
+
+    @Param({"json", "cbor"})
+    public String codec;
+
+    @Param({"FULL", "COMPACT"})
+    public BoardFormat board;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper readMapper;
+    private BinaryStompCodec binaryStompCodec;
+    private GameDTO view;
+    private byte[] json;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Same configuration as the Spring-managed ObjectMapper
+        objectMapper = new ObjectMapper().registerModule(new JacksonConfig().battleshipModule());
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modules(new JacksonConfig().battleshipModule())
+                .featuresToDisable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        binaryStompCodec = new BinaryStompCodec(builder, new SimpleMeterRegistry());
+        readMapper = codec.equals("json") ? objectMapper : Jackson2ObjectMapperBuilder.cbor()
+                .modules(new JacksonConfig().battleshipModule())
+                .build();
+
+        view = new GameMapper().toDTO(phase.build(), "p1", board);
+        json = objectMapper.writeValueAsBytes(view);
+        body = encode();
+        System.out.printf("%n%s %s %s: %,d bytes%n", phase, codec, board, body.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return codec.equals("json") ? objectMapper.writeValueAsBytes(view) : binaryStompCodec.toCbor(json);
+    }
+
+    @Benchmark
+    public GameDTO decode() throws Exception {
+        return readMapper.readValue(body, GameDTO.class);
+    }
+}
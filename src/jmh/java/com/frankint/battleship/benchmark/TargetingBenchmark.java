@@ -0,0 +1,42 @@
+package com.frankint.battleship.benchmark;
+
+import com.frankint.battleship.domain.ai.ProbabilityTargeting;
+import com.frankint.battleship.domain.model.Board;
+import com.frankint.battleship.domain.model.Coordinate;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One AI decision on the opponent's board, under the default 50 ms move budget.
+ * chooseTarget only reads the board, so every invocation sees the same position.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TargetingBenchmark {
+
+    private static final Duration BUDGET = Duration.ofMillis(50);
+
+    @Param({"FRESH", "MID_GAME", "END_GAME"})
+    public GamePhase phase;
+
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting();
+    private final SplittableRandom rng = new SplittableRandom(2024);
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = phase.build().getPlayer1().getBoard();
+    }
+
+    @Benchmark
+    public Coordinate chooseTarget() {
+        return targeting.chooseTarget(board, BUDGET, rng);
+    }
+}
@@ -0,0 +1,62 @@
+package com.frankint.battleship.api.controller;
+
+import com.frankint.battleship.api.dto.BoardFormat;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The BoardFormat each user's STOMP sessions asked for, with a {@code board} header on CONNECT.
+ * A seat's topic is shared by all of the user's sessions, so it gets COMPACT only while every one of them asked for it.
+ */
+@Component
+public class BoardFormats {
+
+    public static final String BOARD_HEADER = "board";
+
+    private final Map<String, Map<String, BoardFormat>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> userBySession = new ConcurrentHashMap<>();
+
+    public BoardFormat formatFor(String playerId) {
+        Map<String, BoardFormat> sessions = sessionsByUser.get(playerId);
+        return sessions != null && !sessions.containsValue(BoardFormat.FULL) ? BoardFormat.COMPACT : BoardFormat.FULL;
+    }
+
+    // Connected rather than connect: by now the CONNECT frame has been authenticated
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user == null || sessionId == null) return;
+
+        Message<?> connect = (Message<?>) event.getMessage().getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        String requested = connect != null ? StompHeaderAccessor.wrap(connect).getFirstNativeHeader(BOARD_HEADER) : null;
+        BoardFormat format = BoardFormat.COMPACT.name().equalsIgnoreCase(requested) ? BoardFormat.COMPACT : BoardFormat.FULL;
+
+        userBySession.put(sessionId, user.getName());
+        sessionsByUser.compute(user.getName(), (name, sessions) -> {
+            Map<String, BoardFormat> updated = sessions != null ? sessions : new ConcurrentHashMap<>();
+            updated.put(sessionId, format);
+            return updated;
+        });
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String user = userBySession.remove(event.getSessionId());
+        if (user == null) return;
+
+        sessionsByUser.computeIfPresent(user, (name, sessions) -> {
+            sessions.remove(event.getSessionId());
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+}
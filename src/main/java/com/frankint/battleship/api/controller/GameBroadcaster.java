@@ -0,0 +1,86 @@
+package com.frankint.battleship.api.controller;
+
+import com.frankint.battleship.api.dto.BoardFormat;
+import com.frankint.battleship.api.dto.MoveEventDTO;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.api.mapper.GameViewCache;
+import com.frankint.battleship.application.service.AiOpponentService;
+import com.frankint.battleship.application.service.GameService;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.Player;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Pushes game updates to each seat on its private topic, /topic/game/{gameId}/{playerId}.
+ * Moves go out as MoveEventDTOs, and are kept in the MoveEventBuffer for clients that reconnect;
+ * a full GameDTO snapshot only when a client cannot catch up on events, or for changes that are not moves.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameBroadcaster {
+
+    private final GameMapper gameMapper;
+    private final GameViewCache gameViewCache;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MoveEventBuffer moveEventBuffer;
+    private final BoardFormats boardFormats;
+
+    // Snapshot to both seats
+    public void broadcast(Game game) {
+        sendSnapshot(game, game.getPlayer1().getId());
+        if (game.getPlayer2() != null) {
+            sendSnapshot(game, game.getPlayer2().getId());
+        }
+    }
+
+    public void broadcastShot(GameService.ShotOutcome outcome) {
+        broadcastMove(outcome.game(), outcome.playerId(), List.of(new ShotDTO(outcome.target(), outcome.result())));
+    }
+
+    public void broadcastMove(Game game, String shooterId, List<ShotDTO> shots) {
+        for (Player player : List.of(game.getPlayer1(), game.getPlayer2())) {
+            // Nobody is subscribed for the AI seat
+            if (AiOpponentService.isAiPlayer(player.getId())) continue;
+
+            // Buffered in FULL: the seat may come back on a session that asks for the other format
+            MoveEventDTO event = gameMapper.toMoveEventDTO(game, player.getId(), shooterId, shots);
+            moveEventBuffer.record(game.getId(), player.getId(), event);
+            messagingTemplate.convertAndSend(destination(game.getId(), player.getId()),
+                    gameMapper.toFormat(event, boardFormats.formatFor(player.getId())));
+        }
+    }
+
+    // Moves a seat missed, sent again in their original order and the format its sessions ask for now
+    public void resend(String gameId, String playerId, List<MoveEventDTO> events) {
+        BoardFormat format = boardFormats.formatFor(playerId);
+        for (MoveEventDTO event : events) {
+            messagingTemplate.convertAndSend(destination(gameId, playerId), gameMapper.toFormat(event, format));
+        }
+    }
+
+    public void sendSnapshot(Game game, String playerId) {
+        if (AiOpponentService.isAiPlayer(playerId)) return;
+
+        // The view specifically for this player (hiding enemy ships), already serialized if REST has sent it
+        byte[] json = gameViewCache.json(game, playerId, boardFormats.formatFor(playerId));
+
+        // Sent as is: the message converters would treat a byte[] payload as binary
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination(game.getId(), playerId), MessageBuilder.createMessage(json, headers.getMessageHeaders()));
+    }
+
+    private static String destination(String gameId, String playerId) {
+        return "/topic/game/" + gameId + "/" + playerId;
+    }
+}
@@ -1,14 +1,24 @@
 package com.frankint.battleship.api.controller;
 
+import com.frankint.battleship.api.dto.BoardFormat;
 import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.dto.GameHistoryPageDTO;
+import com.frankint.battleship.api.dto.PlaceFleetRequest;
 import com.frankint.battleship.api.dto.PlaceShipRequest;
 import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.api.mapper.GameViewCache;
+import com.frankint.battleship.application.service.AiOpponentService;
+import com.frankint.battleship.application.service.GameLanes;
 import com.frankint.battleship.application.service.GameService;
 import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameMode;
+import com.frankint.battleship.domain.model.GameSummary;
+import com.frankint.battleship.domain.model.ShipPlacement;
+import com.frankint.battleship.domain.model.ShipType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
@@ -20,79 +30,154 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GameController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GameService gameService;
+    private final GameLanes gameLanes;
+    private final AiOpponentService aiOpponentService;
     private final GameMapper gameMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GameViewCache gameViewCache;
+    private final GameBroadcaster broadcaster;
 
     // 1. Create Game - No body needed, ID comes from Session
     @PostMapping
-    public ResponseEntity<GameDTO> createGame(@AuthenticationPrincipal UserDetails user) {
-        Game game = gameService.createGame(user.getUsername());
+    public ResponseEntity<byte[]> createGame(
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "CLASSIC") GameMode mode,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
+        Game game = gameService.createGame(user.getUsername(), mode);
+
+        return view(HttpStatus.CREATED, game, user.getUsername(), board);
+    }
+
+    // 1b. Play against the server - the AI takes the second seat and places its fleet
+    @PostMapping("/ai")
+    public ResponseEntity<byte[]> createAiGame(
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
+        Game game = aiOpponentService.createGame(user.getUsername());
 
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(gameMapper.toDTO(game, user.getUsername()));
+        return view(HttpStatus.CREATED, game, user.getUsername(), board);
     }
 
     // 2. Join Game - ID comes from Path, User from Session
     @PostMapping("/{gameId}/join")
-    public ResponseEntity<GameDTO> joinGame(
+    public ResponseEntity<byte[]> joinGame(
             @PathVariable String gameId,
-            @AuthenticationPrincipal UserDetails user) {
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
 
-        Game game = gameService.joinGame(gameId, user.getUsername());
-        GameDTO p2Dto = gameMapper.toDTO(game, user.getUsername());
+        // Changes to a game run on its lane (see GameLanes), behind any moves already queued there
+        Game game = gameLanes.call(gameId, () -> gameService.joinGame(gameId, user.getUsername()));
 
         // Notify Player 1 that the game has started!
-        // We must reconstruct the DTO from P1's perspective
         if (game.getPlayer1() != null) {
             String p1Username = game.getPlayer1().getId();
 
             // Only send if P1 is actually a different person (not testing vs self)
             if (!p1Username.equals(user.getUsername())) {
-                GameDTO p1Dto = gameMapper.toDTO(game, p1Username);
-
                 // Broadcast to P1's specific topic
-                messagingTemplate.convertAndSend(
-                        "/topic/game/" + gameId + "/" + p1Username,
-                        p1Dto
-                );
+                broadcaster.sendSnapshot(game, p1Username);
             }
         }
 
-        return ResponseEntity.ok(p2Dto);
+        return view(HttpStatus.OK, game, user.getUsername(), board);
     }
 
     // 3. Place Ship - User from Session
     @PostMapping("/{gameId}/place")
-    public ResponseEntity<GameDTO> placeShip(
+    public ResponseEntity<byte[]> placeShip(
             @PathVariable String gameId,
             @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board,
             @RequestBody PlaceShipRequest request) {
 
-        Game game = gameService.placeShip(
+        Game game = gameLanes.call(gameId, () -> gameService.placeShip(
                 gameId,
                 user.getUsername(),
                 request.shipType(),
                 request.start(),
                 request.orientation()
-        );
+        ));
+
+        return view(HttpStatus.OK, game, user.getUsername(), board);
+    }
+
+    // 3b. Place the whole fleet in one request (all-or-nothing)
+    @PostMapping("/{gameId}/fleet")
+    public ResponseEntity<byte[]> placeFleet(
+            @PathVariable String gameId,
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board,
+            @RequestBody PlaceFleetRequest request) {
+
+        if (request.ships() == null || request.ships().isEmpty()) {
+            throw new IllegalArgumentException("Fleet must contain at least one ship");
+        }
+        List<ShipPlacement> placements = request.ships().stream()
+                .map(s -> new ShipPlacement(ShipType.fromId(s.shipType()), s.start(), s.orientation()))
+                .toList();
+
+        Game game = gameLanes.call(gameId, () -> gameService.placeFleet(gameId, user.getUsername(), placements));
 
-        return ResponseEntity.ok(gameMapper.toDTO(game, user.getUsername()));
+        return view(HttpStatus.OK, game, user.getUsername(), board);
+    }
+
+    // 3c. Let the server place the remaining ships randomly
+    @PostMapping("/{gameId}/fleet/auto")
+    public ResponseEntity<byte[]> autoPlaceFleet(
+            @PathVariable String gameId,
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
+
+        Game game = gameLanes.call(gameId, () -> gameService.autoPlaceFleet(gameId, user.getUsername()));
+
+        return view(HttpStatus.OK, game, user.getUsername(), board);
+    }
+
+    // 3d. Look at a single game, also once it has been archived
+    @GetMapping("/{gameId}")
+    public ResponseEntity<byte[]> getGame(
+            @PathVariable String gameId,
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
+
+        Game game = gameService.getGame(gameId);
+
+        return view(HttpStatus.OK, game, user.getUsername(), board);
     }
 
     // 4. Game History
     @GetMapping
-    public ResponseEntity<List<GameDTO>> getMyGames(@AuthenticationPrincipal UserDetails user) {
+    public ResponseEntity<List<GameDTO>> getMyGames(
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(defaultValue = "FULL") BoardFormat board) {
         List<Game> games = gameService.getPlayerHistory(user.getUsername());
 
         // Convert all to DTOs
         List<GameDTO> dtos = games.stream()
-                .map(g -> gameMapper.toDTO(g, user.getUsername()))
+                .map(g -> gameMapper.toDTO(g, user.getUsername(), board))
                 .toList();
 
         return ResponseEntity.ok(dtos);
     }
 
+    // 4b. Game history for lists: summaries only, newest first, one page at a time
+    @GetMapping("/summaries")
+    public ResponseEntity<GameHistoryPageDTO> getMyGameSummaries(
+            @AuthenticationPrincipal UserDetails user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        GameSummary.Position after = cursor != null ? gameMapper.fromCursor(cursor) : null;
+        GameService.HistoryPage page = gameService.getPlayerHistoryPage(user.getUsername(), after, limit);
+
+        return ResponseEntity.ok(gameMapper.toHistoryPageDTO(page, user.getUsername()));
+    }
+
     @PostMapping("/{gameId}/hide")
     public ResponseEntity<Void> hideGame(
             @PathVariable String gameId,
@@ -101,4 +186,11 @@ public class GameController {
         gameService.hideGame(gameId, user.getUsername());
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    // A single game as the user sees it, serialized once per state of the game (see GameViewCache)
+    private ResponseEntity<byte[]> view(HttpStatus status, Game game, String playerId, BoardFormat board) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gameViewCache.json(game, playerId, board));
+    }
+}
@@ -1,11 +1,12 @@
 package com.frankint.battleship.api.controller;
 
-import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.dto.MoveEventDTO;
 import com.frankint.battleship.api.dto.MoveRequest;
-import com.frankint.battleship.api.mapper.GameMapper;
+import com.frankint.battleship.api.dto.SalvoRequest;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.application.service.AiOpponentService;
+import com.frankint.battleship.application.service.GameLanes;
 import com.frankint.battleship.application.service.GameService;
-import com.frankint.battleship.domain.model.Game;
-import com.frankint.battleship.domain.model.Player;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -15,50 +16,113 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 @Slf4j // Adds logging capability
 @Controller
 @RequiredArgsConstructor
 public class GameWebSocketController {
 
     private final GameService gameService;
-    private final GameMapper gameMapper;
+    private final GameLanes gameLanes;
+    private final AiOpponentService aiOpponentService;
+    private final GameBroadcaster broadcaster;
+    private final MoveEventBuffer moveEventBuffer;
     private final SimpMessagingTemplate messagingTemplate;
 
+    // Moves are handed to the game's lane, so the inbound channel's threads never wait on a game
     @MessageMapping("/game/{gameId}/move")
     public void makeMove(
             @DestinationVariable String gameId,
             @Header("playerId") String playerId,
             @Payload MoveRequest request) {
 
+        gameLanes.execute(gameId, () -> playMove(gameId, playerId, request));
+    }
+
+    @MessageMapping("/game/{gameId}/salvo")
+    public void fireSalvo(
+            @DestinationVariable String gameId,
+            @Header("playerId") String playerId,
+            @Payload SalvoRequest request) {
+
+        gameLanes.execute(gameId, () -> playSalvo(gameId, playerId, request));
+    }
+
+    // Runs on the game's lane, so its broadcasts go out in the order the moves were made
+    private void playMove(String gameId, String playerId, MoveRequest request) {
         try {
             log.info("Player {} making move in game {} at {}", playerId, gameId, request.target());
 
             // 1. Execute the Logic (Validation happens here)
-            Game game = gameService.makeMove(gameId, playerId, request.target());
+            GameService.ShotOutcome outcome = gameService.fireShot(gameId, playerId, request.target());
 
-            // 2. Broadcast the NEW state to BOTH players (Customized for each!)
-            sendGameStateToPlayer(game, game.getPlayer1());
-            if (game.getPlayer2() != null) {
-                sendGameStateToPlayer(game, game.getPlayer2());
-            }
+            // 2. Send the move to BOTH players (Customized for each!)
+            broadcaster.broadcastShot(outcome);
+
+            // 3. In games against the server, the AI answers asynchronously
+            aiOpponentService.playTurnIfDue(outcome.game(), broadcaster::broadcastShot);
 
         } catch (RuntimeException e) {
             log.warn("Invalid move by player {}: {}", playerId, e.getMessage());
 
-            // 3. Send Error ONLY to the player who made the mistake
+            // 4. Send Error ONLY to the player who made the mistake
             // Topic: /topic/game/{gameId}/{playerId}/error
             String errorTopic = "/topic/game/" + gameId + "/" + playerId + "/error";
             messagingTemplate.convertAndSend(errorTopic, new ErrorResponse(e.getMessage()));
         }
     }
 
-    private void sendGameStateToPlayer(Game game, Player player) {
-        // Generate the view specifically for this player (hiding enemy ships)
-        GameDTO gameDTO = gameMapper.toDTO(game, player.getId());
+    private void playSalvo(String gameId, String playerId, SalvoRequest request) {
+        try {
+            log.info("Player {} firing salvo in game {} at {}", playerId, gameId, request.targets());
+
+            // 1. Apply the whole volley in one transaction
+            GameService.SalvoOutcome outcome = gameService.fireSalvo(gameId, playerId, request.targets());
 
-        // Push to their private topic: /topic/game/{gameId}/{playerId}
-        String destination = "/topic/game/" + game.getId() + "/" + player.getId();
-        messagingTemplate.convertAndSend(destination, gameDTO);
+            // 2. One event per player for the whole volley, carrying the per-shot results
+            List<ShotDTO> shots = new ArrayList<>(outcome.results().size());
+            for (int i = 0; i < outcome.results().size(); i++) {
+                shots.add(new ShotDTO(request.targets().get(i), outcome.results().get(i)));
+            }
+            broadcaster.broadcastMove(outcome.game(), playerId, shots);
+
+        } catch (RuntimeException e) {
+            log.warn("Invalid salvo by player {}: {}", playerId, e.getMessage());
+
+            String errorTopic = "/topic/game/" + gameId + "/" + playerId + "/error";
+            messagingTemplate.convertAndSend(errorTopic, new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * A client that has just subscribed, reconnected or seen a gap in seq asks to catch up. With the last seq
+     * it has, it is sent just the moves it missed; without, or if those are too old to be held, a snapshot.
+     */
+    @MessageMapping("/game/{gameId}/sync")
+    public void resync(
+            @DestinationVariable String gameId,
+            @Header("playerId") String playerId,
+            @Header(name = "lastSeq", required = false) Long lastSeq) {
+
+        // On the lane, so nothing sent here can overtake a move that is being broadcast
+        gameLanes.execute(gameId, () -> {
+            try {
+                Optional<List<MoveEventDTO>> missed = lastSeq != null
+                        ? moveEventBuffer.since(gameId, playerId, lastSeq)
+                        : Optional.empty();
+                if (missed.isPresent()) {
+                    broadcaster.resend(gameId, playerId, missed.get());
+                } else {
+                    broadcaster.sendSnapshot(gameService.getGame(gameId), playerId);
+                }
+            } catch (RuntimeException e) {
+                String errorTopic = "/topic/game/" + gameId + "/" + playerId + "/error";
+                messagingTemplate.convertAndSend(errorTopic, new ErrorResponse(e.getMessage()));
+            }
+        });
     }
 
     // Simple record for sending JSON errors
@@ -0,0 +1,101 @@
+package com.frankint.battleship.api.controller;
+
+import com.frankint.battleship.api.dto.MoveEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The last move events sent to each seat, so a client that reconnects can be sent just the moves it missed
+ * rather than a snapshot.
+ * <ul>
+ *   <li>At most {@code battleship.ws.resume.moves} events per seat; each new one overwrites the oldest.</li>
+ *   <li>A seat's events are dropped once it has gone {@code battleship.ws.resume.idle-ms} without a move,
+ *       so only games in play hold any.</li>
+ * </ul>
+ * Events are held in the FULL BoardFormat, whatever the seat was sent, and converted when resent.
+ * Held on this node only, like the simple broker that delivers the events.
+ */
+@Component
+public class MoveEventBuffer {
+
+    // One seat's events, oldest first from the slot after the newest
+    private static final class Ring {
+        private final MoveEventDTO[] events;
+        private long recorded;
+        private volatile long lastWrite;
+
+        private Ring(int capacity) {
+            this.events = new MoveEventDTO[capacity];
+        }
+
+        synchronized void add(MoveEventDTO event, long now) {
+            events[(int) (recorded++ % events.length)] = event;
+            lastWrite = now;
+        }
+
+        // Null if the events after seq are no longer all here
+        synchronized List<MoveEventDTO> since(long seq) {
+            int held = (int) Math.min(recorded, events.length);
+            MoveEventDTO oldest = events[(int) ((recorded - held) % events.length)];
+            if (seq < oldest.seq() - oldest.shots().size()) return null;
+
+            List<MoveEventDTO> missed = new ArrayList<>();
+            for (long i = recorded - held; i < recorded; i++) {
+                MoveEventDTO event = events[(int) (i % events.length)];
+                if (event.seq() > seq) missed.add(event);
+            }
+            return missed;
+        }
+    }
+
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long idleMs;
+    private final Counter resumed;
+    private final Counter tooOld;
+
+    public MoveEventBuffer(@Value("${battleship.ws.resume.moves:64}") int capacity,
+                           @Value("${battleship.ws.resume.idle-ms:600000}") long idleMs,
+                           MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.idleMs = idleMs;
+        resumed = Counter.builder("battleship.ws.resumes").tag("result", "resumed").register(meterRegistry);
+        tooOld = Counter.builder("battleship.ws.resumes").tag("result", "snapshot").register(meterRegistry);
+        Gauge.builder("battleship.ws.resume.seats", rings, Map::size).register(meterRegistry);
+    }
+
+    public void record(String gameId, String playerId, MoveEventDTO event) {
+        rings.computeIfAbsent(key(gameId, playerId), k -> new Ring(capacity)).add(event, System.currentTimeMillis());
+    }
+
+    /**
+     * The events the seat was sent after {@code seq}, oldest first (none if it is up to date),
+     * or empty if they are not all held any more and the client needs a snapshot.
+     */
+    public Optional<List<MoveEventDTO>> since(String gameId, String playerId, long seq) {
+        Ring ring = rings.get(key(gameId, playerId));
+        List<MoveEventDTO> missed = ring != null ? ring.since(seq) : null;
+        (missed != null ? resumed : tooOld).increment();
+        return Optional.ofNullable(missed);
+    }
+
+    @Scheduled(fixedDelayString = "${battleship.ws.resume.sweep-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        rings.values().removeIf(ring -> ring.lastWrite <= cutoff);
+    }
+
+    private static String key(String gameId, String playerId) {
+        return gameId + "/" + playerId;
+    }
+}
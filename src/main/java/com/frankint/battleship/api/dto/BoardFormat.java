@@ -0,0 +1,10 @@
+package com.frankint.battleship.api.dto;
+
+/**
+ * How boards are written in GameDTOs and MoveEventDTOs. FULL is the default; clients opt into COMPACT
+ * per request ({@code ?board=COMPACT}) or per STOMP connection ({@code board:COMPACT} on CONNECT).
+ */
+public enum BoardFormat {
+    FULL,   // Shots as coordinate lists, ships with all their coordinates
+    COMPACT // Shots as a ShotGridDTO, ships as start and orientation
+}
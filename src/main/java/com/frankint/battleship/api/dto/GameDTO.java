@@ -1,13 +1,16 @@
 package com.frankint.battleship.api.dto;
 
+import com.frankint.battleship.domain.model.GameMode;
 import com.frankint.battleship.domain.model.GameState;
 
 public record GameDTO(
         String gameId,
         GameState state,
+        GameMode mode,
         String currentTurnPlayerId,
         String winnerId,
         PlayerDTO self,     // The player requesting the data
-        PlayerDTO opponent  // The enemy (masked)
+        PlayerDTO opponent, // The enemy (masked)
+        long seq            // Shots fired in the game so far; MoveEventDTOs carry on from here
 ) {
 }
@@ -0,0 +1,9 @@
+package com.frankint.battleship.api.dto;
+
+import java.util.List;
+
+public record GameHistoryPageDTO(
+        List<GameSummaryDTO> games,
+        String nextCursor // Pass back as ?cursor= for the next page; null on the last page
+) {
+}
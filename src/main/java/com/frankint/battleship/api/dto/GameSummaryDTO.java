@@ -0,0 +1,16 @@
+package com.frankint.battleship.api.dto;
+
+import com.frankint.battleship.domain.model.GameMode;
+import com.frankint.battleship.domain.model.GameState;
+
+import java.time.Instant;
+
+public record GameSummaryDTO(
+        String gameId,
+        GameState state,
+        GameMode mode,
+        String opponentId, // Null while waiting for a second player
+        String winnerId,
+        Instant createdAt
+) {
+}
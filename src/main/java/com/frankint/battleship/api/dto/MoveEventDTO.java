@@ -0,0 +1,21 @@
+package com.frankint.battleship.api.dto;
+
+import com.frankint.battleship.domain.model.GameState;
+
+import java.util.List;
+
+/**
+ * One move, pushed to each seat instead of a whole new GameDTO. Clients apply it to the snapshot they hold.
+ */
+public record MoveEventDTO(
+        String gameId,
+        long seq,                    // Shots fired in the game so far, this move's included
+        String playerId,             // Who fired
+        List<ShotDTO> shots,         // One per target, in the order they were fired
+        List<ShipDTO> sunkShips,     // Ships this move sank, with their coordinates
+        GameState state,
+        String currentTurnPlayerId,
+        String winnerId,
+        List<ShipDTO> revealedShips  // The opponent's whole fleet once the game is over, as in a snapshot
+) {
+}
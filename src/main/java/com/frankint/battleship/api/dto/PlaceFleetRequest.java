@@ -0,0 +1,8 @@
+package com.frankint.battleship.api.dto;
+
+import java.util.List;
+
+public record PlaceFleetRequest(
+        List<PlaceShipRequest> ships
+) {
+}
@@ -1,14 +1,18 @@
 package com.frankint.battleship.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.frankint.battleship.domain.model.Coordinate;
 
 import java.util.List;
 
+// Each format leaves out the other's fields (see BoardFormat)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PlayerDTO(
         String playerId,
         List<ShipDTO> ships,      // My ships (or All ships if game over)
         List<ShipDTO> sunkShips,  // Opponent's sunk ships (for immediate reveal)
-        List<Coordinate> hits,
-        List<Coordinate> misses
+        List<Coordinate> hits,    // FULL only
+        List<Coordinate> misses,  // FULL only
+        ShotGridDTO shotGrid      // COMPACT only
 ) {
 }
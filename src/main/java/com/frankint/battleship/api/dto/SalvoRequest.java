@@ -0,0 +1,8 @@
+package com.frankint.battleship.api.dto;
+
+import com.frankint.battleship.domain.model.Coordinate;
+
+import java.util.List;
+
+public record SalvoRequest(List<Coordinate> targets) {
+}
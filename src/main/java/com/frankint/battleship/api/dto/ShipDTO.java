@@ -1,13 +1,19 @@
 package com.frankint.battleship.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.frankint.battleship.domain.model.Coordinate;
+import com.frankint.battleship.domain.model.Orientation;
 
 import java.util.List;
 
+// Each format leaves out the other's fields (see BoardFormat)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ShipDTO(
         String id,
         int size,
         boolean sunk,
-        List<Coordinate> coordinates // Only sent to owner
+        List<Coordinate> coordinates, // Only sent to owner; FULL only
+        Coordinate start,             // COMPACT only: with orientation and size, where the ship lies
+        Orientation orientation       // COMPACT only
 ) {
 }
@@ -0,0 +1,10 @@
+package com.frankint.battleship.api.dto;
+
+import com.frankint.battleship.domain.model.Coordinate;
+import com.frankint.battleship.domain.model.ShotResult;
+
+public record ShotDTO(
+        Coordinate target,
+        ShotResult result
+) {
+}
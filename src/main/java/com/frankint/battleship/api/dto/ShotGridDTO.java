@@ -0,0 +1,13 @@
+package com.frankint.battleship.api.dto;
+
+/**
+ * The shots on one board as two bitsets, base64 encoded: bit {@code y * width + x} is set for a shot at (x, y),
+ * lowest bit of each byte first. Each takes {@code ceil(width * height / 8)} bytes, however many shots were fired.
+ */
+public record ShotGridDTO(
+        int width,
+        int height,
+        String hits,
+        String misses
+) {
+}
@@ -1,47 +1,146 @@
 package com.frankint.battleship.api.mapper;
 
+import com.frankint.battleship.api.dto.BoardFormat;
 import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.dto.GameHistoryPageDTO;
+import com.frankint.battleship.api.dto.GameSummaryDTO;
+import com.frankint.battleship.api.dto.MoveEventDTO;
 import com.frankint.battleship.api.dto.PlayerDTO;
 import com.frankint.battleship.api.dto.ShipDTO;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.api.dto.ShotGridDTO;
+import com.frankint.battleship.application.service.GameService;
 import com.frankint.battleship.domain.model.*;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class GameMapper {
 
     public GameDTO toDTO(Game game, String requestingPlayerId) {
-        Player self;
-        Player opponent;
+        return toDTO(game, requestingPlayerId, BoardFormat.FULL);
+    }
 
-        String p1Id = game.getPlayer1().getId();
-        // Handle potential null P2 (if game is waiting)
-        String p2Id = game.getPlayer2() != null ? game.getPlayer2().getId() : null;
-
-        if (p1Id.equals(requestingPlayerId)) {
-            self = game.getPlayer1();
-            opponent = game.getPlayer2();
-        } else if (p2Id != null && p2Id.equals(requestingPlayerId)) {
-            self = game.getPlayer2();
-            opponent = game.getPlayer1();
-        } else {
-            throw new IllegalArgumentException("User " + requestingPlayerId + " is not part of this game");
-        }
+    public GameDTO toDTO(Game game, String requestingPlayerId, BoardFormat format) {
+        Player self = seatOf(game, requestingPlayerId);
+        Player opponent = self == game.getPlayer1() ? game.getPlayer2() : game.getPlayer1();
 
         return new GameDTO(
                 game.getId(),
                 game.getState(),
+                game.getMode(),
+                game.getCurrentTurnPlayerId(),
+                game.getWinnerId(),
+                toPlayerDTO(self, true, game.getState(), format),     // Self: Always show everything
+                toPlayerDTO(opponent, false, game.getState(), format), // Opponent: Show based on rules
+                shotsFired(game)
+        );
+    }
+
+    /**
+     * The move that brought the game to its current state, as the given player sees it, in the FULL format
+     * (see {@link #toFormat}). {@code shots} are the move's targets with their results, in the order they were fired.
+     */
+    public MoveEventDTO toMoveEventDTO(Game game, String requestingPlayerId, String shooterId, List<ShotDTO> shots) {
+        Player self = seatOf(game, requestingPlayerId);
+        Player opponent = self == game.getPlayer1() ? game.getPlayer2() : game.getPlayer1();
+        Board target = (shooterId.equals(self.getId()) ? opponent : self).getBoard();
+
+        // Sunk ships are revealed to both players; the shot that sank one is on it
+        List<ShipDTO> sunkShips = shots.stream()
+                .filter(shot -> shot.result() == ShotResult.SUNK)
+                .flatMap(shot -> target.getShips().stream().filter(ship -> ship.isHit(shot.target())))
+                .map(ship -> toShipDTO(ship, BoardFormat.FULL))
+                .toList();
+        List<ShipDTO> revealedShips = game.getState() == GameState.FINISHED
+                ? mapShips(opponent.getBoard().getShips(), BoardFormat.FULL)
+                : Collections.emptyList();
+
+        return new MoveEventDTO(
+                game.getId(),
+                shotsFired(game),
+                shooterId,
+                shots,
+                sunkShips,
+                game.getState(),
                 game.getCurrentTurnPlayerId(),
                 game.getWinnerId(),
-                toPlayerDTO(self, true, game.getState()),     // Self: Always show everything
-                toPlayerDTO(opponent, false, game.getState()) // Opponent: Show based on rules
+                revealedShips
+        );
+    }
+
+    /**
+     * A FULL move event in the given format. FULL ships carry all their cells, so this needs no game;
+     * MoveEventBuffer holds events in FULL for that reason.
+     */
+    public MoveEventDTO toFormat(MoveEventDTO event, BoardFormat format) {
+        if (format == BoardFormat.FULL) return event;
+        return new MoveEventDTO(
+                event.gameId(),
+                event.seq(),
+                event.playerId(),
+                event.shots(),
+                event.sunkShips().stream().map(GameMapper::toCompactShipDTO).toList(),
+                event.state(),
+                event.currentTurnPlayerId(),
+                event.winnerId(),
+                event.revealedShips().stream().map(GameMapper::toCompactShipDTO).toList()
         );
     }
 
-    private PlayerDTO toPlayerDTO(Player player, boolean isSelf, GameState state) {
+    public GameHistoryPageDTO toHistoryPageDTO(GameService.HistoryPage page, String requestingPlayerId) {
+        List<GameSummaryDTO> games = page.games().stream()
+                .map(summary -> new GameSummaryDTO(
+                        summary.gameId(),
+                        summary.state(),
+                        summary.mode(),
+                        summary.opponentOf(requestingPlayerId),
+                        summary.winnerId(),
+                        summary.createdAt()))
+                .toList();
+        return new GameHistoryPageDTO(games, page.next() != null ? toCursor(page.next()) : null);
+    }
+
+    // Cursors are opaque to clients: "<createdAt>|<gameId>", base64url encoded
+    public String toCursor(GameSummary.Position position) {
+        String raw = position.createdAt() + "|" + position.gameId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public GameSummary.Position fromCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new GameSummary.Position(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Player seatOf(Game game, String playerId) {
+        if (game.getPlayer1().getId().equals(playerId)) return game.getPlayer1();
+        // Handle potential null P2 (if game is waiting)
+        if (game.getPlayer2() != null && game.getPlayer2().getId().equals(playerId)) return game.getPlayer2();
+        throw new IllegalArgumentException("User " + playerId + " is not part of this game");
+    }
+
+    // Every move fires at least one shot, so this orders a game's moves
+    static long shotsFired(Game game) {
+        long shots = 0;
+        for (Player player : new Player[]{game.getPlayer1(), game.getPlayer2()}) {
+            if (player == null) continue;
+            shots += player.getBoard().getHitShots().size() + player.getBoard().getMissedShots().size();
+        }
+        return shots;
+    }
+
+    private PlayerDTO toPlayerDTO(Player player, boolean isSelf, GameState state, BoardFormat format) {
         if (player == null) return null;
 
         List<ShipDTO> visibleShips;
@@ -49,40 +148,62 @@ public class GameMapper {
 
         if (isSelf) {
             // I can always see my own ships
-            visibleShips = mapShips(player.getBoard().getShips());
+            visibleShips = mapShips(player.getBoard().getShips(), format);
             sunkShips = Collections.emptyList(); // Redundant for self
         } else {
             // LOGIC FOR OPPONENT VIEW
             if (state == GameState.FINISHED) {
                 // Issue 22: Game Over -> Show Everything
-                visibleShips = mapShips(player.getBoard().getShips());
+                visibleShips = mapShips(player.getBoard().getShips(), format);
                 sunkShips = Collections.emptyList();
             } else {
                 // Active Game -> Hide healthy ships
                 visibleShips = Collections.emptyList();
 
                 // Issue 21: Reveal Sunk Ships
-                sunkShips = player.getBoard().getShips().stream()
-                        .filter(Ship::isSunk)
-                        .map(this::toShipDTO)
-                        .toList();
+                sunkShips = mapShips(player.getBoard().getSunkShips(), format);
             }
         }
 
-        return new PlayerDTO(
-                player.getId(),
-                visibleShips,
-                sunkShips,
-                player.getBoard().getHitShots(),
-                player.getBoard().getMissedShots()
-        );
+        Board board = player.getBoard();
+        if (format == BoardFormat.COMPACT) {
+            return new PlayerDTO(player.getId(), visibleShips, sunkShips, null, null, toShotGridDTO(board));
+        }
+        return new PlayerDTO(player.getId(), visibleShips, sunkShips, board.getHitShots(), board.getMissedShots(), null);
+    }
+
+    private List<ShipDTO> mapShips(List<Ship> ships, BoardFormat format) {
+        return ships.stream().map(ship -> toShipDTO(ship, format)).toList();
     }
 
-    private List<ShipDTO> mapShips(List<Ship> ships) {
-        return ships.stream().map(this::toShipDTO).toList();
+    private ShipDTO toShipDTO(Ship ship, BoardFormat format) {
+        ShipDTO full = new ShipDTO(ship.getId(), ship.getSize(), ship.isSunk(), ship.getCoordinates(), null, null);
+        return format == BoardFormat.FULL ? full : toCompactShipDTO(full);
     }
 
-    private ShipDTO toShipDTO(Ship ship) {
-        return new ShipDTO(ship.getId(), ship.getSize(), ship.isSunk(), ship.getCoordinates());
+    private static ShipDTO toCompactShipDTO(ShipDTO ship) {
+        // Coordinates run from the start cell along the ship
+        List<Coordinate> cells = ship.coordinates();
+        Orientation orientation = cells.size() > 1 && cells.get(1).x() == cells.get(0).x()
+                ? Orientation.VERTICAL
+                : Orientation.HORIZONTAL;
+        return new ShipDTO(ship.id(), ship.size(), ship.sunk(), null, cells.get(0), orientation);
+    }
+
+    private static ShotGridDTO toShotGridDTO(Board board) {
+        int width = board.getWidth();
+        int bytes = (width * board.getHeight() + 7) / 8;
+        return new ShotGridDTO(width, board.getHeight(),
+                toBase64Bitset(board.getHitShots(), width, bytes),
+                toBase64Bitset(board.getMissedShots(), width, bytes));
+    }
+
+    private static String toBase64Bitset(List<Coordinate> cells, int width, int bytes) {
+        byte[] bits = new byte[bytes];
+        for (Coordinate cell : cells) {
+            int index = cell.y() * width + cell.x();
+            bits[index >> 3] |= (byte) (1 << (index & 7));
+        }
+        return Base64.getEncoder().encodeToString(bits);
     }
 }
\ No newline at end of file
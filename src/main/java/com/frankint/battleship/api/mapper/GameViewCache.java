@@ -0,0 +1,131 @@
+package com.frankint.battleship.api.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.BoardFormat;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameState;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Each seat's GameDTO of a game, serialized to JSON once per state of the game and shared by everything
+ * that sends it: snapshots on the game topics and the REST responses.
+ * <ul>
+ *   <li>A seat's entry, one per BoardFormat, holds the view of one state, identified by the game's version, state, ships placed
+ *       and shots fired. A request for another state replaces it.</li>
+ *   <li>Entries go once unread for {@code battleship.game-view-cache.idle-ms}. Past
+ *       {@code battleship.game-view-cache.max-size} entries, new views are served but not cached.</li>
+ *   <li>Games that were never saved have no version and are not cached.</li>
+ * </ul>
+ * A max-size of 0 turns the cache off.
+ */
+@Component
+public class GameViewCache {
+
+    private record Key(String gameId, String playerId, BoardFormat format) {}
+
+    // What the view depends on: versions alone can repeat, e.g. for several saves in one transaction
+    private record Stamp(long version, GameState state, int shipsPlaced, long shotsFired) {
+
+        static Stamp of(Game game) {
+            int ships = game.getPlayer1().getBoard().getShipCount()
+                    + (game.getPlayer2() != null ? game.getPlayer2().getBoard().getShipCount() : 0);
+            return new Stamp(game.getVersion(), game.getState(), ships, GameMapper.shotsFired(game));
+        }
+    }
+
+    private static final class Entry {
+        private final Stamp stamp;
+        private final byte[] json;
+        private volatile long lastAccess;
+
+        private Entry(Stamp stamp, byte[] json, long lastAccess) {
+            this.stamp = stamp;
+            this.json = json;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final GameMapper gameMapper;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final long idleMs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public GameViewCache(GameMapper gameMapper,
+                         ObjectMapper objectMapper,
+                         @Value("${battleship.game-view-cache.max-size:20000}") int maxSize,
+                         @Value("${battleship.game-view-cache.idle-ms:60000}") long idleMs,
+                         MeterRegistry meterRegistry) {
+        this.gameMapper = gameMapper;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.idleMs = idleMs;
+
+        FunctionCounter.builder("battleship.game.view-cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("battleship.game.view-cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("battleship.game.view-cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public byte[] json(Game game, String playerId) {
+        return json(game, playerId, BoardFormat.FULL);
+    }
+
+    /**
+     * The game as {@code playerId} sees it (GameMapper.toDTO), as JSON. Callers must not modify the array.
+     */
+    public byte[] json(Game game, String playerId, BoardFormat format) {
+        // Games that were never saved are serialized every time
+        if (game.getVersion() == null) {
+            misses.increment();
+            return serialize(game, playerId, format);
+        }
+
+        long now = System.currentTimeMillis();
+        Stamp stamp = Stamp.of(game);
+        Key key = new Key(game.getId(), playerId, format);
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.stamp.equals(stamp)) {
+            entry.lastAccess = now;
+            hits.increment();
+            return entry.json;
+        }
+
+        misses.increment();
+        byte[] json = serialize(game, playerId, format);
+        if (entry != null || entries.size() < maxSize) {
+            entries.put(key, new Entry(stamp, json, now));
+        }
+        return json;
+    }
+
+    @Scheduled(fixedDelayString = "${battleship.game-view-cache.sweep-ms:30000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        entries.values().removeIf(entry -> entry.lastAccess <= cutoff);
+    }
+
+    private byte[] serialize(Game game, String playerId, BoardFormat format) {
+        try {
+            return objectMapper.writeValueAsBytes(gameMapper.toDTO(game, playerId, format));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,54 +2,193 @@ package com.frankint.battleship.application.adapter.persistence;
 
 import com.frankint.battleship.application.port.out.GameRepository;
 import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameSummary;
+import com.frankint.battleship.domain.model.Player;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
- * Adapter for storing games in memory.
- * Useful for testing and early development phases.
+ * Adapter for storing games in memory, with the same semantics as PostgresGameRepository:
+ * <ul>
+ *   <li>each seat has its own visibility flag, cleared by {@link #hideGame};</li>
+ *   <li>history lookups go through a player -> game ids index, so they cost
+ *       O(games of that player) however many games are stored.</li>
+ * </ul>
+ * The index is updated inside the same {@code compute} as the game itself, and lookups re-check
+ * the seat on the stored game, so a lookup never returns a game the player has no seat in.
  */
 @Repository
 public class InMemoryGameRepository implements GameRepository {
 
+    // What a games row holds besides the game itself
+    private record Entry(Game game, Instant createdAt, boolean p1Visible, boolean p2Visible) {}
+
     // ConcurrentHashMap is crucial here for thread safety in a multiplayer environment
-    private final Map<String, Game> store = new ConcurrentHashMap<>();
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    // Player id -> ids of the games they hold a seat in
+    private final Map<String, Set<String>> gamesByPlayer = new ConcurrentHashMap<>();
 
+    // Keeps the saved instance, so the caller must not modify it afterwards
     @Override
     public Game save(Game game) {
-        store.put(game.getId(), game);
+        game.pullEvents(); // Nothing else needs its event log
+        store.compute(game.getId(), (id, current) -> {
+            if (current == null) {
+                // A version means the game was loaded from here: it has been deleted since
+                if (game.getVersion() != null) {
+                    throw new OptimisticLockingFailureException("Game " + id + " was deleted by another request");
+                }
+                game.setVersion(0L);
+                return insert(game);
+            }
+            return update(current, game);
+        });
         return game;
     }
 
+    /**
+     * Saves the game only if it is held here, checked and stored in one step.
+     * Returns false, leaving the repository as it was, if it is not.
+     */
+    public boolean saveIfPresent(Game game) {
+        Entry saved = store.computeIfPresent(game.getId(), (id, current) -> update(current, game));
+        if (saved == null) return false;
+        game.pullEvents();
+        return true;
+    }
+
+    /**
+     * Holds a game loaded from another store, keeping the version it has there.
+     * Replaces whatever was held for it.
+     */
+    public void hold(Game game) {
+        game.pullEvents();
+        store.compute(game.getId(), (id, current) -> {
+            if (current != null) {
+                unindex(current.game().getPlayer1(), id);
+                unindex(current.game().getPlayer2(), id);
+            }
+            return insert(game);
+        });
+    }
+
+    // A copy, so changes only take effect (and are version-checked) on save
     @Override
     public Optional<Game> findById(String gameId) {
-        return Optional.ofNullable(store.get(gameId));
+        return Optional.ofNullable(store.get(gameId)).map(entry -> entry.game().copy());
     }
 
     @Override
     public void delete(String gameId) {
-        store.remove(gameId);
+        store.computeIfPresent(gameId, (id, entry) -> {
+            unindex(entry.game().getPlayer1(), id);
+            unindex(entry.game().getPlayer2(), id);
+            return null;
+        });
     }
 
     @Override
     public List<Game> findGamesByPlayer(String playerId) {
-        return store.values().stream()
-                .filter(game -> isPlayerInGame(game, playerId))
+        return visibleEntries(playerId)
+                .map(entry -> entry.game().copy())
                 .toList();
     }
 
     @Override
     public void hideGame(String gameId, String playerId) {
+        store.computeIfPresent(gameId, (id, entry) -> {
+            // Same order as PostgresGameRepository.hideSeat: player 1's seat first
+            if (entry.game().getPlayer1().getId().equals(playerId)) {
+                return new Entry(entry.game(), entry.createdAt(), false, entry.p2Visible());
+            }
+            if (isSeated(entry.game().getPlayer2(), playerId)) {
+                return new Entry(entry.game(), entry.createdAt(), entry.p1Visible(), false);
+            }
+            return entry;
+        });
+    }
+
+    @Override
+    public List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit) {
+        Comparator<GameSummary.Position> newestFirst = Comparator
+                .comparing(GameSummary.Position::createdAt)
+                .thenComparing(GameSummary.Position::gameId)
+                .reversed();
+        return visibleEntries(playerId)
+                .map(InMemoryGameRepository::toSummary)
+                .filter(summary -> after == null || newestFirst.compare(summary.position(), after) > 0)
+                .sorted(Comparator.comparing(GameSummary::position, newestFirst))
+                .limit(limit)
+                .toList();
+    }
+
+    // Only called inside a store.compute for the game
+    private Entry insert(Game game) {
+        index(game.getPlayer1(), game.getId());
+        index(game.getPlayer2(), game.getId());
+        return new Entry(game, Instant.now(), true, true);
+    }
+
+    private Entry update(Entry current, Game game) {
+        if (!Objects.equals(current.game().getVersion(), game.getVersion())) {
+            throw new OptimisticLockingFailureException("Game " + game.getId() + " was changed by another request");
+        }
+        game.setVersion(game.getVersion() + 1);
+        if (current.game().getPlayer2() == null) index(game.getPlayer2(), game.getId()); // Seats are only ever added
+        return new Entry(game, current.createdAt(), current.p1Visible(), current.p2Visible());
+    }
+
+    private Stream<Entry> visibleEntries(String playerId) {
+        Set<String> gameIds = gamesByPlayer.getOrDefault(playerId, Set.of());
+        return gameIds.stream()
+                .map(store::get)
+                .filter(Objects::nonNull) // Deleted since the index was read
+                .filter(entry -> isVisibleTo(entry, playerId));
+    }
+
+    private static boolean isVisibleTo(Entry entry, String playerId) {
+        if (entry.game().getPlayer1().getId().equals(playerId) && entry.p1Visible()) return true;
+        return isSeated(entry.game().getPlayer2(), playerId) && entry.p2Visible();
+    }
+
+    private static boolean isSeated(Player player, String playerId) {
+        return player != null && player.getId().equals(playerId);
+    }
+
+    private static GameSummary toSummary(Entry entry) {
+        Game game = entry.game();
+        return new GameSummary(game.getId(), game.getState(), game.getMode(),
+                game.getPlayer1().getId(),
+                game.getPlayer2() != null ? game.getPlayer2().getId() : null,
+                game.getWinnerId(),
+                entry.createdAt());
+    }
 
+    // Per-player compute, so adding and removing the last id of a set cannot lose each other's update
+    private void index(Player player, String gameId) {
+        if (player == null) return;
+        gamesByPlayer.compute(player.getId(), (id, gameIds) -> {
+            Set<String> ids = gameIds != null ? gameIds : ConcurrentHashMap.newKeySet();
+            ids.add(gameId);
+            return ids;
+        });
     }
 
-    private boolean isPlayerInGame(Game game, String playerId) {
-        boolean isP1 = game.getPlayer1() != null && game.getPlayer1().getId().equals(playerId);
-        boolean isP2 = game.getPlayer2() != null && game.getPlayer2().getId().equals(playerId);
-        return isP1 || isP2;
+    private void unindex(Player player, String gameId) {
+        if (player == null) return;
+        gamesByPlayer.computeIfPresent(player.getId(), (id, gameIds) -> {
+            gameIds.remove(gameId);
+            return gameIds.isEmpty() ? null : gameIds;
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.frankint.battleship.application.port.out;
+
+import com.frankint.battleship.domain.model.Game;
+
+import java.util.Optional;
+
+/**
+ * Read-only access to games moved out of the GameRepository: long-finished games and games
+ * every player has hidden. Archived games can be looked at but no longer played.
+ */
+public interface GameArchive {
+    Optional<Game> findById(String gameId);
+}
@@ -1,6 +1,7 @@
 package com.frankint.battleship.application.port.out;
 
 import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameSummary;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +12,7 @@ public interface GameRepository {
     void delete(String gameId);
     List<Game> findGamesByPlayer(String playerId);
     void hideGame(String gameId, String playerId);
+
+    // One page of the player's visible games, newest first, starting after {@code after} (null for the first page)
+    List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit);
 }
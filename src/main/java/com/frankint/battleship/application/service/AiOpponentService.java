@@ -0,0 +1,96 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.domain.ai.ProbabilityTargeting;
+import com.frankint.battleship.domain.exception.GameNotFoundException;
+import com.frankint.battleship.domain.model.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Lets a player start a game against the server.
+ * The AI seat plays through GameService like any other player, so its changes are retried on
+ * version conflicts and kept in the game cache; its moves are computed off the request thread
+ * and handed back to the caller for broadcasting.
+ */
+@Slf4j
+@Service
+public class AiOpponentService {
+
+    // ':' can never appear in a Basic-auth username, so no real user can claim an AI seat
+    public static final String AI_PREFIX = "ai:";
+
+    private final GameService gameService;
+    private final GameLanes gameLanes;
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting();
+    private final Duration moveBudget;
+    private final ExecutorService executor;
+
+    public AiOpponentService(GameService gameService,
+                             GameLanes gameLanes,
+                             @Value("${battleship.ai.move-budget-ms:50}") long moveBudgetMs,
+                             @Value("${battleship.ai.threads:2}") int threads) {
+        this.gameService = gameService;
+        this.gameLanes = gameLanes;
+        this.moveBudget = Duration.ofMillis(moveBudgetMs);
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("ai-opponent-", 0).daemon().factory());
+    }
+
+    public static boolean isAiPlayer(String playerId) {
+        return playerId != null && playerId.startsWith(AI_PREFIX);
+    }
+
+    // Only the creator has the game's id before the AI takes the second seat
+    public Game createGame(String humanId) {
+        String aiId = AI_PREFIX + UUID.randomUUID().toString().substring(0, 8);
+
+        String gameId = gameService.createGame(humanId).getId();
+        gameService.joinGame(gameId, aiId);
+        return gameService.autoPlaceFleet(gameId, aiId);
+    }
+
+    /**
+     * If it is the AI's turn, schedules its move and passes the outcome to {@code onMoved}.
+     */
+    public void playTurnIfDue(Game game, Consumer<GameService.ShotOutcome> onMoved) {
+        if (game.getState() != GameState.ACTIVE || !isAiPlayer(game.getCurrentTurnPlayerId())) return;
+
+        String gameId = game.getId();
+        String aiId = game.getCurrentTurnPlayerId();
+        executor.execute(() -> playTurn(gameId, aiId, onMoved));
+    }
+
+    private void playTurn(String gameId, String aiId, Consumer<GameService.ShotOutcome> onMoved) {
+        try {
+            Game game = gameService.getGame(gameId);
+            if (game.getState() != GameState.ACTIVE || !aiId.equals(game.getCurrentTurnPlayerId())) return;
+
+            Player opponent = game.getPlayer1().getId().equals(aiId) ? game.getPlayer2() : game.getPlayer1();
+            Coordinate target = targeting.chooseTarget(opponent.getBoard(), moveBudget, ThreadLocalRandom.current());
+
+            // Only the move itself queues on the game's lane, not the search for a target
+            gameLanes.call(gameId, () -> {
+                GameService.ShotOutcome outcome = gameService.fireShot(gameId, aiId, target);
+                onMoved.accept(outcome);
+                return outcome;
+            });
+        } catch (GameNotFoundException e) {
+            // Deleted since the human's move: nothing left to play
+        } catch (RuntimeException e) {
+            log.warn("AI move failed in game {}: {}", gameId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
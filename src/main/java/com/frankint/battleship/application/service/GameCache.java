@@ -0,0 +1,208 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of domain games in front of {@code GameRepository.findById}.
+ * <ul>
+ *   <li>Readers get their own copy, so a request that fails or rolls back leaves the cached game as it was.</li>
+ *   <li>Every entry has a version. A save replaces the entry only if it still holds the version the game
+ *       was loaded at; otherwise another write got there first and the entry is marked stale, so the
+ *       next read goes back to the repository. Until the saving transaction completes, the entry is
+ *       pending and nothing is cached for that game.</li>
+ *   <li>At most {@code battleship.game-cache.max-size} entries, each expiring after
+ *       {@code battleship.game-cache.ttl-ms} without access. Over the limit, FINISHED games are evicted
+ *       first, then WAITING_FOR_PLAYER games idle for {@code battleship.game-cache.idle-ms}, then the
+ *       least recently used of the rest, ACTIVE games last.</li>
+ * </ul>
+ * A max-size of 0 turns the cache off.
+ */
+@Component
+public class GameCache {
+
+    // Version of a game that did not come from (or did not make it into) the cache
+    public static final long UNCACHED = -1;
+
+    public record Loaded(Game game, long version) {}
+
+    private record Candidate(String gameId, Entry entry, int rank, long lastAccess) {}
+
+    private static final class Entry {
+        private final Game game; // Null marks a stale entry: not cached, but fences off older loads
+        private final long version;
+        private final boolean pending; // Stale because a write has not committed yet
+        private volatile long lastAccess;
+
+        private Entry(Game game, long version, boolean pending, long lastAccess) {
+            this.game = game;
+            this.version = version;
+            this.pending = pending;
+            this.lastAccess = lastAccess;
+        }
+
+        private static Entry stale(long version, boolean pending, long now) {
+            return new Entry(null, version, pending, now);
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long idleNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public GameCache(@Value("${battleship.game-cache.max-size:10000}") int maxSize,
+                     @Value("${battleship.game-cache.ttl-ms:600000}") long ttlMs,
+                     @Value("${battleship.game-cache.idle-ms:60000}") long idleMs,
+                     MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.idleNanos = idleMs * 1_000_000;
+
+        FunctionCounter.builder("battleship.game.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("battleship.game.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(meterRegistry);
+        sizeEvictions = Counter.builder("battleship.game.cache.evictions").tag("cause", "size").register(meterRegistry);
+        expiredEvictions = Counter.builder("battleship.game.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("battleship.game.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the cached game, or loads it through {@code loader} on a miss.
+     */
+    public Optional<Loaded> load(String gameId, Function<String, Optional<Game>> loader) {
+        if (maxSize <= 0) return loader.apply(gameId).map(game -> new Loaded(game, UNCACHED));
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(gameId);
+        if (entry != null && entry.game != null) {
+            if (now - entry.lastAccess < ttlNanos) {
+                entry.lastAccess = now;
+                hits.increment();
+                return Optional.of(new Loaded(entry.game.copy(), entry.version));
+            }
+            if (entries.remove(gameId, entry)) expiredEvictions.increment();
+        }
+        misses.increment();
+
+        // Anything written after this point is newer than what the loader returns
+        long stamp = clock.get();
+        Optional<Game> loaded = loader.apply(gameId);
+        if (loaded.isEmpty()) return Optional.empty();
+
+        Game game = loaded.get();
+        Entry fresh = new Entry(game.copy(), clock.incrementAndGet(), false, now);
+        Entry stored = entries.compute(gameId, (id, current) ->
+                current == null || (current.game == null && !current.pending && current.version <= stamp)
+                        ? fresh : current);
+        if (stored != fresh) return Optional.of(new Loaded(game, UNCACHED));
+
+        evictIfFull(now);
+        return Optional.of(new Loaded(game, fresh.version));
+    }
+
+    /**
+     * Records a saved game. The entry is pending until the surrounding transaction completes, and then
+     * holds {@code game} if the save committed on top of {@code baseVersion}, the version it was loaded at.
+     * The cache keeps {@code game}, so it must not be modified afterwards.
+     */
+    public void saved(Game game, long baseVersion) {
+        if (maxSize <= 0) return;
+        write(game.getId(), game, baseVersion);
+    }
+
+    /**
+     * Drops a game, e.g. after it was deleted.
+     */
+    public void invalidate(String gameId) {
+        if (maxSize <= 0) return;
+        write(gameId, null, UNCACHED);
+    }
+
+    private void write(String gameId, Game game, long baseVersion) {
+        long marker = clock.incrementAndGet();
+        boolean[] inSequence = {false};
+        entries.compute(gameId, (id, current) -> {
+            inSequence[0] = current == null || (current.game != null && current.version == baseVersion);
+            return Entry.stale(marker, true, System.nanoTime());
+        });
+        boolean replace = game != null && inSequence[0];
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(gameId, marker, replace ? game : null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(gameId, marker, replace && status == STATUS_COMMITTED ? game : null);
+            }
+        });
+    }
+
+    // Settles our pending marker, unless a later write has replaced it already
+    private void complete(String gameId, long marker, Game game) {
+        long now = System.nanoTime();
+        long version = clock.incrementAndGet();
+        entries.computeIfPresent(gameId, (id, current) -> current.version != marker ? current
+                : game != null ? new Entry(game, version, false, now) : Entry.stale(version, false, now));
+        evictIfFull(now);
+    }
+
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxSize) return;
+        synchronized (evictionLock) {
+            int excess = entries.size() - maxSize;
+            if (excess <= 0) return;
+
+            // Free some headroom as well, so the scan runs once per batch of inserts rather than per insert
+            int toEvict = excess + Math.max(1, maxSize / 10);
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((id, entry) -> candidates.add(
+                    new Candidate(id, entry, evictionRank(entry, now), entry.lastAccess)));
+            candidates.sort(Comparator.comparingInt(Candidate::rank).thenComparingLong(Candidate::lastAccess));
+
+            for (int i = 0; i < toEvict && i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                if (entries.remove(candidate.gameId(), candidate.entry())) sizeEvictions.increment();
+            }
+        }
+    }
+
+    // Lower ranks are evicted first
+    private int evictionRank(Entry entry, long now) {
+        long idle = now - entry.lastAccess;
+        if (idle >= ttlNanos) return 0;
+        if (entry.game == null) return 1;
+        GameState state = entry.game.getState();
+        if (state == GameState.FINISHED) return 1;
+        if (state == GameState.WAITING_FOR_PLAYER && idle >= idleNanos) return 2;
+        return state == GameState.ACTIVE ? 4 : 3;
+    }
+}
@@ -0,0 +1,101 @@
+package com.frankint.battleship.application.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One ordered lane per game: everything that changes a game (joins, placements, moves) runs on its lane,
+ * one task at a time and in the order it was submitted, so a game has a single writer.
+ * <ul>
+ *   <li>Submitted tasks run on their own virtual thread, so games do not compete for a fixed pool, and a task
+ *       that waits for the database only holds up its own game. A caller that has to wait for the result anyway
+ *       (a REST request) runs its task itself once the lane gets to it.</li>
+ *   <li>A lane is a chain of futures: a task starts when the one queued before it on the same game has
+ *       finished, failed or not. A lane with nothing queued is dropped, so idle games cost nothing.</li>
+ * </ul>
+ * Versions stay the backstop for writers outside the lanes (another node, hiding, the archiver).
+ */
+@Component
+public class GameLanes {
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-lane-", 0).factory());
+    // Game id -> the last task queued on its lane, until that task has finished
+    private final Map<String, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    public GameLanes(MeterRegistry meterRegistry) {
+        Gauge.builder("battleship.game.lanes", tails, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code task} on the game's lane. The future completes with its result, or its exception.
+     */
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> task) {
+        return enqueue(gameId, previous -> previous.thenApplyAsync(ignored -> task.get(), executor));
+    }
+
+    public CompletableFuture<Void> execute(String gameId, Runnable task) {
+        return submit(gameId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the game's lane, then runs {@code task} on the calling thread (inside its transaction, if any)
+     * and throws whatever it threw. Must not be called from a task on the same game's lane.
+     */
+    public <T> T call(String gameId, Supplier<T> task) {
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[1];
+        enqueue(gameId, before -> {
+            previous[0] = before;
+            return turn;
+        });
+        previous[0].join();
+        try {
+            return task.get();
+        } finally {
+            turn.complete(null);
+        }
+    }
+
+    /**
+     * Games with a task queued or running.
+     */
+    public int activeLanes() {
+        return tails.size();
+    }
+
+    // Lets queued tasks finish on shutdown
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    // Appends the task made by next to the game's lane; next gets a future of the one before it that never fails
+    @SuppressWarnings("unchecked")
+    private <F extends CompletableFuture<?>> F enqueue(String gameId, Function<CompletableFuture<?>, F> next) {
+        CompletableFuture<?>[] queued = new CompletableFuture<?>[1];
+        tails.compute(gameId, (id, tail) -> {
+            // 1. Wait for the previous task however it ended; its caller handles its failure
+            CompletableFuture<?> previous = tail != null ? tail.handle((result, e) -> null) : CompletableFuture.completedFuture(null);
+            queued[0] = next.apply(previous);
+            return queued[0];
+        });
+        // 2. Still the tail once it is done: nothing else is queued, so the lane goes
+        CompletableFuture<?> task = queued[0];
+        task.whenComplete((result, e) -> tails.remove(gameId, task));
+        return (F) task;
+    }
+}
@@ -1,32 +1,69 @@
 package com.frankint.battleship.application.service;
 
+import com.frankint.battleship.application.port.out.GameArchive;
 import com.frankint.battleship.application.port.out.GameRepository;
 import com.frankint.battleship.domain.exception.GameNotFoundException;
 import com.frankint.battleship.domain.model.*;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Every change to a game is a load-modify-save of the whole game. Saves are checked against the
+ * version the game was loaded at; when another request saved the game in between, the change is
+ * re-applied to the fresh state, up to {@code battleship.game.max-attempts} times. The retry
+ * re-runs the domain rules, so a move that is no longer legal (not your turn anymore) fails
+ * instead of overwriting the other request's change.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class GameService {
 
     private final GameRepository gameRepository;
+    private final GameCache gameCache;
+    private final GameArchive gameArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public GameService(GameRepository gameRepository,
+                       GameCache gameCache,
+                       GameArchive gameArchive,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${battleship.game.max-attempts:10}") int maxAttempts) {
+        this.gameRepository = gameRepository;
+        this.gameCache = gameCache;
+        this.gameArchive = gameArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+    }
 
     // Logic stays the same, but we ensure the caller (Controller) passes the secure ID
-    @Transactional
     public Game createGame(String playerId) {
+        return createGame(playerId, GameMode.CLASSIC);
+    }
+
+    public Game createGame(String playerId, GameMode mode) {
         Board emptyBoard = new Board(10, 10);
         Player player1 = new Player(playerId, emptyBoard);
-        Game game = new Game(player1);
-        return gameRepository.save(game);
+        Game game = new Game(player1, mode);
+        return transactionTemplate.execute(status -> save(new GameCache.Loaded(game, GameCache.UNCACHED)));
     }
 
-    @Transactional
     public Game joinGame(String gameId, String playerId) {
-        Game game = getGameOrThrow(gameId);
+        return retrying(gameId, () -> join(gameId, playerId));
+    }
+
+    private Game join(String gameId, String playerId) {
+        GameCache.Loaded loaded = getGameOrThrow(gameId);
+        Game game = loaded.game();
 
         // Check if player is already in the game (Idempotency)
         if (game.getPlayer1().getId().equals(playerId)) {
@@ -42,25 +79,66 @@ public class GameService {
         Player player2 = new Player(playerId, emptyBoard);
         game.join(player2);
 
-        return gameRepository.save(game);
+        return save(loaded);
     }
 
-    @Transactional
     public Game placeShip(String gameId, String playerId, String shipTypeId, Coordinate start, Orientation orientation) {
-        Game game = getGameOrThrow(gameId);
         ShipType type = ShipType.fromId(shipTypeId);
-        game.placeShip(playerId, type, start, orientation);
-        return gameRepository.save(game);
+        return retrying(gameId, () -> {
+            GameCache.Loaded loaded = getGameOrThrow(gameId);
+            loaded.game().placeShip(playerId, type, start, orientation);
+            return save(loaded);
+        });
+    }
+
+    public Game placeFleet(String gameId, String playerId, List<ShipPlacement> placements) {
+        return retrying(gameId, () -> {
+            GameCache.Loaded loaded = getGameOrThrow(gameId);
+            loaded.game().placeFleet(playerId, placements);
+            return save(loaded);
+        });
+    }
+
+    public Game autoPlaceFleet(String gameId, String playerId) {
+        return retrying(gameId, () -> {
+            GameCache.Loaded loaded = getGameOrThrow(gameId);
+            loaded.game().autoPlaceFleet(playerId, ThreadLocalRandom.current());
+            return save(loaded);
+        });
     }
 
-    @Transactional
     public Game makeMove(String gameId, String playerId, Coordinate target) {
-        Game game = getGameOrThrow(gameId);
+        return fireShot(gameId, playerId, target).game();
+    }
+
+    // Same as makeMove, along with what the shot hit
+    public ShotOutcome fireShot(String gameId, String playerId, Coordinate target) {
+        return retrying(gameId, () -> {
+            GameCache.Loaded loaded = getGameOrThrow(gameId);
+
+            // The Domain Model enforces the rules (Turn check, Game Over check, etc)
+            ShotResult result = loaded.game().fire(playerId, target);
+
+            return new ShotOutcome(save(loaded), playerId, target, result);
+        });
+    }
 
-        // The Domain Model enforces the rules (Turn check, Game Over check, etc)
-        game.fire(playerId, target);
+    // One load and one save for the whole volley
+    public SalvoOutcome fireSalvo(String gameId, String playerId, List<Coordinate> targets) {
+        return retrying(gameId, () -> {
+            GameCache.Loaded loaded = getGameOrThrow(gameId);
+            List<ShotResult> results = loaded.game().fireSalvo(playerId, targets);
+            return new SalvoOutcome(save(loaded), results);
+        });
+    }
 
-        return gameRepository.save(game);
+    // Read-only view of any game, including archived ones
+    @Transactional(readOnly = true)
+    public Game getGame(String gameId) {
+        return gameCache.load(gameId, gameRepository::findById)
+                .map(GameCache.Loaded::game)
+                .or(() -> gameArchive.findById(gameId))
+                .orElseThrow(() -> new GameNotFoundException(gameId));
     }
 
     @Transactional
@@ -68,19 +146,80 @@ public class GameService {
         return gameRepository.findGamesByPlayer(playerId);
     }
 
-    @Transactional
+    // Asks for one game more than the page holds, to know whether another page follows
+    @Transactional(readOnly = true)
+    public HistoryPage getPlayerHistoryPage(String playerId, GameSummary.Position after, int limit) {
+        List<GameSummary> games = gameRepository.findGameSummaries(playerId, after, limit + 1);
+        if (games.size() <= limit) return new HistoryPage(games, null);
+
+        List<GameSummary> page = games.subList(0, limit);
+        return new HistoryPage(page, page.get(limit - 1).position());
+    }
+
+    // Hiding a seat bumps the stored version, so the cached copy would conflict with every later change
     public void hideGame(String gameId, String userId) {
-        gameRepository.hideGame(gameId, userId);
+        retrying(gameId, () -> {
+            gameRepository.hideGame(gameId, userId);
+            gameCache.invalidate(gameId);
+            return null;
+        });
     }
 
-    @Transactional
     public void deleteGame(String gameId) {
-        gameRepository.delete(gameId);
+        retrying(gameId, () -> {
+            gameRepository.delete(gameId);
+            gameCache.invalidate(gameId);
+            return null;
+        });
     }
 
-    // Helper
-    private Game getGameOrThrow(String gameId) {
-        return gameRepository.findById(gameId)
+    public record ShotOutcome(Game game, String playerId, Coordinate target, ShotResult result) {}
+
+    public record SalvoOutcome(Game game, List<ShotResult> results) {}
+
+    // next is null on the last page
+    public record HistoryPage(List<GameSummary> games, GameSummary.Position next) {}
+
+    /**
+     * Runs {@code change} in a transaction, again on a version conflict. Inside a caller's
+     * transaction there is no fresh state to retry against, so the conflict is passed up.
+     */
+    private <T> T retrying(String gameId, Supplier<T> change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return change.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) throw e;
+                // The cached copy may be what is stale, if the game was written around the cache
+                gameCache.invalidate(gameId);
+                log.debug("Version conflict, retrying (attempt {}): {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Random delay of up to 2^attempt ms (capped), so colliding requests spread out
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1 << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+
+    // Helpers: loads go through the cache, saves tell it which version they replace
+    private GameCache.Loaded getGameOrThrow(String gameId) {
+        return gameCache.load(gameId, gameRepository::findById)
                 .orElseThrow(() -> new GameNotFoundException(gameId));
     }
+
+    private Game save(GameCache.Loaded loaded) {
+        Game saved = gameRepository.save(loaded.game());
+        gameCache.saved(saved, loaded.version());
+        return saved;
+    }
 }
\ No newline at end of file
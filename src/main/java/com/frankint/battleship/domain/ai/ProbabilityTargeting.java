@@ -0,0 +1,127 @@
+package com.frankint.battleship.domain.ai;
+
+import com.frankint.battleship.domain.model.Board;
+import com.frankint.battleship.domain.model.Coordinate;
+import com.frankint.battleship.domain.model.Ship;
+import com.frankint.battleship.domain.model.ShipType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hunt/target shooter driven by a probability density map.
+ * <p>
+ * For every ship type still afloat, every placement consistent with what the shooter
+ * can see (misses, unresolved hits, revealed sunk ships) adds weight to the unknown
+ * cells it covers. While there are unresolved hits only placements through them count,
+ * which turns the hunt into a target phase. Only public information is used: the
+ * positions of ships that are not sunk are never read.
+ */
+public class ProbabilityTargeting {
+
+    // Cell states
+    private static final byte UNKNOWN = 0;
+    private static final byte MISS = 1;
+    private static final byte HIT = 2;   // Hit, ship not sunk yet
+    private static final byte SUNK = 3;  // Part of a revealed sunk ship
+
+    // Placements through several unresolved hits are far more likely to be the real one
+    private static final int HIT_WEIGHT = 32;
+
+    public Coordinate chooseTarget(Board board, Duration budget, RandomGenerator rng) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        int width = board.getWidth();
+        int height = board.getHeight();
+
+        byte[] cells = new byte[width * height];
+        for (Coordinate c : board.getMissedShots()) cells[c.y() * width + c.x()] = MISS;
+        boolean targetMode = false;
+        for (Coordinate c : board.getHitShots()) {
+            cells[c.y() * width + c.x()] = HIT;
+            targetMode = true;
+        }
+        for (Ship ship : board.getSunkShips()) {
+            for (Coordinate c : ship.getCoordinates()) cells[c.y() * width + c.x()] = SUNK;
+        }
+        if (targetMode) targetMode = hasUnresolvedHit(cells);
+
+        long[] density = new long[cells.length];
+        for (int length : remainingShipLengths(board)) {
+            if (!accumulate(cells, density, width, height, length, targetMode, deadline)) break;
+        }
+
+        return pickBest(cells, density, width, rng);
+    }
+
+    private static boolean hasUnresolvedHit(byte[] cells) {
+        for (byte cell : cells) {
+            if (cell == HIT) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the weight of every legal placement of one ship length.
+     * Returns false once the time budget is spent, leaving a partial (still usable) map.
+     */
+    private static boolean accumulate(byte[] cells, long[] density, int width, int height, int length,
+                                      boolean targetMode, long deadline) {
+        for (int y = 0; y < height; y++) {
+            if (System.nanoTime() > deadline) return false;
+            for (int x = 0; x < width; x++) {
+                int start = y * width + x;
+                if (x + length <= width) addPlacement(cells, density, start, 1, length, targetMode);
+                if (length > 1 && y + length <= height) addPlacement(cells, density, start, width, length, targetMode);
+            }
+        }
+        return true;
+    }
+
+    private static void addPlacement(byte[] cells, long[] density, int start, int step, int length, boolean targetMode) {
+        int hits = 0;
+        for (int i = 0, cell = start; i < length; i++, cell += step) {
+            byte state = cells[cell];
+            if (state == MISS || state == SUNK) return;
+            if (state == HIT) hits++;
+        }
+        if (targetMode && hits == 0) return;
+
+        long weight = 1 + (long) HIT_WEIGHT * hits * hits;
+        for (int i = 0, cell = start; i < length; i++, cell += step) {
+            if (cells[cell] == UNKNOWN) density[cell] += weight;
+        }
+    }
+
+    private static Coordinate pickBest(byte[] cells, long[] density, int width, RandomGenerator rng) {
+        long best = -1;
+        int chosen = -1;
+        int ties = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != UNKNOWN) continue;
+            long value = density[cell];
+            if (value > best) {
+                best = value;
+                chosen = cell;
+                ties = 1;
+            } else if (value == best && rng.nextInt(++ties) == 0) {
+                chosen = cell;
+            }
+        }
+        if (chosen < 0) {
+            throw new IllegalStateException("No cells left to fire at");
+        }
+        return Coordinate.of(chosen % width, chosen / width);
+    }
+
+    private static List<Integer> remainingShipLengths(Board board) {
+        List<Integer> lengths = new ArrayList<>();
+        for (ShipType type : ShipType.values()) {
+            boolean sunk = board.getSunkShips().stream()
+                    .anyMatch(s -> s.getId().equalsIgnoreCase(type.getId()));
+            if (!sunk) lengths.add(type.getSize());
+        }
+        return lengths;
+    }
+}
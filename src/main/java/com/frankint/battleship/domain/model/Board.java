@@ -1,11 +1,17 @@
 package com.frankint.battleship.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 @Getter
 public class Board {
+    // Auto-placement: full restarts before giving up, random draws before scanning
+    private static final int AUTO_PLACE_ATTEMPTS = 32;
+    private static final int RANDOM_PROBES = 16;
+
     private int width;
     private int height;
     private List<Ship> ships;
@@ -13,6 +19,24 @@ public class Board {
     private List<Coordinate> hitShots;
     private Set<Coordinate> occupied;
 
+    // Bitboard index (one bit per cell, row-major). Derived from the fields above,
+    // so it is never serialized and is rebuilt lazily after rehydration.
+    @Getter(AccessLevel.NONE)
+    private transient long[] occupiedBits;
+    @Getter(AccessLevel.NONE)
+    private transient long[] hitBits;
+    @Getter(AccessLevel.NONE)
+    private transient long[] missBits;
+    // Cell -> (index in ships + 1), 0 means water
+    @Getter(AccessLevel.NONE)
+    private transient int[] cellToShip;
+
+    // Running fleet health, kept in step with placeShip/fireShot
+    @Getter(AccessLevel.NONE)
+    private transient int remainingShipCells;
+    @Getter(AccessLevel.NONE)
+    private transient List<Ship> sunkShips;
+
     public Board(int width, int height) {
         if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board width and height must be positive");
         this.width = width;
@@ -21,6 +45,7 @@ public class Board {
         this.missedShots = new ArrayList<>();
         this.hitShots = new ArrayList<>();
         this.occupied = new HashSet<>();
+        rebuildIndex();
     }
 
     private Board() {
@@ -32,11 +57,36 @@ public class Board {
         this.occupied = new HashSet<>();
     }
 
+    /**
+     * Deep copy: the copy shares no mutable state with this board.
+     */
+    public Board copy() {
+        ensureIndex();
+        Board copy = new Board();
+        copy.width = width;
+        copy.height = height;
+        copy.ships = new ArrayList<>(ships.size());
+        for (Ship ship : ships) copy.ships.add(ship.copy());
+        copy.missedShots = new ArrayList<>(missedShots);
+        copy.hitShots = new ArrayList<>(hitShots);
+        copy.occupied = new HashSet<>(occupied);
+
+        copy.occupiedBits = occupiedBits.clone();
+        copy.hitBits = hitBits.clone();
+        copy.missBits = missBits.clone();
+        copy.cellToShip = cellToShip.clone();
+        copy.remainingShipCells = remainingShipCells;
+        copy.sunkShips = new ArrayList<>(Math.max(ships.size(), ShipType.values().length));
+        for (Ship sunk : sunkShips) copy.sunkShips.add(copy.ships.get(ships.indexOf(sunk)));
+        return copy;
+    }
+
     /**
      * Attempts to place a ship.
      * Throws IllegalArgumentException if placement is invalid.
      */
     public void placeShip(String shipId, int length, Coordinate start, Orientation orientation) {
+        ensureIndex();
         List<Coordinate> coordinates = calculateCoordinates(start, length, orientation);
 
         canPlaceShip(coordinates);
@@ -44,6 +94,8 @@ public class Board {
         Ship newShip = new Ship(shipId, length, coordinates);
         ships.add(newShip);
         occupied.addAll(coordinates);
+        indexShip(newShip, ships.size());
+        remainingShipCells += length;
     }
 
     private List<Coordinate> calculateCoordinates(Coordinate start, int length, Orientation orientation) {
@@ -51,7 +103,7 @@ public class Board {
         for (int i = 0; i < length; i++) {
             int x = start.x() + (orientation == Orientation.HORIZONTAL ? i : 0);
             int y = start.y() + (orientation == Orientation.VERTICAL ? i : 0);
-            coords.add(new Coordinate(x, y));
+            coords.add(Coordinate.of(x, y));
         }
         return coords;
     }
@@ -61,29 +113,64 @@ public class Board {
         if (coordinate.x() >= width || coordinate.y() >= height) {
             throw new IllegalArgumentException("Shot out of bounds");
         }
+        ensureIndex();
+        int cell = cellOf(coordinate.x(), coordinate.y());
 
         // Check if already shot here
-        if (missedShots.contains(coordinate) || hitShots.contains(coordinate)) return ShotResult.DUPLICATE;
+        if (isSet(hitBits, cell) || isSet(missBits, cell)) return ShotResult.DUPLICATE;
 
         // Check if we hit a ship
-        Optional<Ship> hitShip = ships.stream()
-                .filter(s -> s.isHit(coordinate))
-                .findFirst();
-
-        if (hitShip.isPresent()) {
-            Ship ship = hitShip.get();
+        int shipSlot = cellToShip[cell];
+        if (shipSlot != 0) {
+            Ship ship = ships.get(shipSlot - 1);
             ship.takeDamage();
+            set(hitBits, cell);
             hitShots.add(coordinate);
-            return ship.isSunk() ? ShotResult.SUNK : ShotResult.HIT;
+            remainingShipCells--;
+            if (ship.isSunk()) {
+                sunkShips.add(ship);
+                return ShotResult.SUNK;
+            }
+            return ShotResult.HIT;
         }
 
         // It's a miss
+        set(missBits, cell);
         missedShots.add(coordinate);
         return ShotResult.MISS;
     }
 
+    public boolean isShotAt(Coordinate coordinate) {
+        if (coordinate.x() >= width || coordinate.y() >= height) return false;
+        ensureIndex();
+        int cell = cellOf(coordinate.x(), coordinate.y());
+        return isSet(hitBits, cell) || isSet(missBits, cell);
+    }
+
     public boolean allShipsSunk() {
-        return ships.stream().allMatch(Ship::isSunk);
+        ensureIndex();
+        return remainingShipCells == 0;
+    }
+
+    /**
+     * Number of ship cells that have not been hit yet.
+     */
+    public int getRemainingShipCells() {
+        ensureIndex();
+        return remainingShipCells;
+    }
+
+    public int getSunkShipCount() {
+        ensureIndex();
+        return sunkShips.size();
+    }
+
+    /**
+     * Read-only view of the ships sunk so far, without re-scanning the fleet.
+     */
+    public List<Ship> getSunkShips() {
+        ensureIndex();
+        return Collections.unmodifiableList(sunkShips);
     }
 
     private void canPlaceShip(List<Coordinate> coordinates) {
@@ -93,7 +180,7 @@ public class Board {
             }
         }
         for (Coordinate c : coordinates) {
-            if (occupied.contains(c)) {
+            if (isSet(occupiedBits, cellOf(c.x(), c.y()))) {
                 throw new IllegalArgumentException("Ship overlaps with an existing ship at " + c);
             }
         }
@@ -107,4 +194,143 @@ public class Board {
     public int getShipCount() {
         return ships.size();
     }
+
+    /**
+     * Randomly places the given ships, drawing only from placements that fit the board
+     * and do not overlap ships already on it.
+     * Either the whole fleet is placed or the board is left unchanged.
+     */
+    public void autoPlace(ShipType[] fleet, RandomGenerator rng) {
+        ensureIndex();
+        // Largest first: they are the hardest to fit once the board fills up
+        ShipType[] order = fleet.clone();
+        Arrays.sort(order, Comparator.comparingInt(ShipType::getSize).reversed());
+
+        int shipsBefore = ships.size();
+        for (int attempt = 0; attempt < AUTO_PLACE_ATTEMPTS; attempt++) {
+            if (tryAutoPlace(order, rng)) return;
+            truncateShips(shipsBefore);
+        }
+        throw new IllegalStateException("Could not fit the fleet on a " + width + "x" + height + " board");
+    }
+
+    private boolean tryAutoPlace(ShipType[] order, RandomGenerator rng) {
+        for (ShipType type : order) {
+            int[] candidates = PlacementTable.forShip(width, height, type.getSize());
+            int placement = pickFreePlacement(candidates, type.getSize(), rng);
+            if (placement < 0) return false;
+
+            int cell = PlacementTable.startCell(placement);
+            placeShip(type.getId(), type.getSize(), Coordinate.of(cell % width, cell / width),
+                    PlacementTable.isVertical(placement) ? Orientation.VERTICAL : Orientation.HORIZONTAL);
+        }
+        return true;
+    }
+
+    private int pickFreePlacement(int[] candidates, int length, RandomGenerator rng) {
+        if (candidates.length == 0) return -1;
+
+        // 1. Sparse boards: a few random probes almost always land on a free spot
+        for (int i = 0; i < RANDOM_PROBES; i++) {
+            int placement = candidates[rng.nextInt(candidates.length)];
+            if (isFree(placement, length)) return placement;
+        }
+
+        // 2. Crowded boards: reservoir-sample uniformly among the placements that are still free
+        int chosen = -1;
+        int seen = 0;
+        for (int placement : candidates) {
+            if (isFree(placement, length) && rng.nextInt(++seen) == 0) chosen = placement;
+        }
+        return chosen;
+    }
+
+    private boolean isFree(int placement, int length) {
+        int cell = PlacementTable.startCell(placement);
+        if (PlacementTable.isVertical(placement)) {
+            for (int i = 0; i < length; i++, cell += width) {
+                if (isSet(occupiedBits, cell)) return false;
+            }
+            return true;
+        }
+        return rangeClear(occupiedBits, cell, length);
+    }
+
+    /**
+     * Removes every ship placed after the first {@code shipCount}.
+     * Used to roll back a partially applied fleet placement.
+     */
+    void truncateShips(int shipCount) {
+        ensureIndex();
+        while (ships.size() > shipCount) {
+            Ship ship = ships.remove(ships.size() - 1);
+            for (Coordinate c : ship.getCoordinates()) {
+                int cell = cellOf(c.x(), c.y());
+                occupiedBits[cell >>> 6] &= ~(1L << cell);
+                cellToShip[cell] = 0;
+                occupied.remove(c);
+            }
+            remainingShipCells -= ship.getHealth();
+            sunkShips.remove(ship);
+        }
+    }
+
+    // --- Bitboard helpers ---
+
+    private void ensureIndex() {
+        // Boards rehydrated by Jackson skip the public constructor
+        if (cellToShip == null) rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        int cells = width * height;
+        int words = (cells + 63) >>> 6;
+        occupiedBits = new long[words];
+        hitBits = new long[words];
+        missBits = new long[words];
+        cellToShip = new int[cells];
+        remainingShipCells = 0;
+        sunkShips = new ArrayList<>(Math.max(ships.size(), ShipType.values().length)); // sized up front, fireShot stays allocation-free
+
+        for (int i = 0; i < ships.size(); i++) {
+            Ship ship = ships.get(i);
+            indexShip(ship, i + 1);
+            remainingShipCells += ship.getHealth();
+            if (ship.isSunk()) sunkShips.add(ship);
+        }
+        for (Coordinate c : hitShots) set(hitBits, cellOf(c.x(), c.y()));
+        for (Coordinate c : missedShots) set(missBits, cellOf(c.x(), c.y()));
+    }
+
+    private void indexShip(Ship ship, int slot) {
+        for (Coordinate c : ship.getCoordinates()) {
+            int cell = cellOf(c.x(), c.y());
+            set(occupiedBits, cell);
+            cellToShip[cell] = slot;
+        }
+    }
+
+    private int cellOf(int x, int y) {
+        return y * width + x;
+    }
+
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static boolean rangeClear(long[] bits, int from, int length) {
+        while (length > 0) {
+            int offset = from & 63;
+            int take = Math.min(length, 64 - offset);
+            long mask = (take == 64 ? -1L : (1L << take) - 1) << offset;
+            if ((bits[from >>> 6] & mask) != 0) return false;
+            from += take;
+            length -= take;
+        }
+        return true;
+    }
+
+    private static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
 }
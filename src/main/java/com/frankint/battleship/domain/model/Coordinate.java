@@ -1,9 +1,41 @@
 package com.frankint.battleship.domain.model;
 
 public record Coordinate(int x, int y) {
+
+    /**
+     * Side length of the square covered by the canonical instance table.
+     * Override with -Dbattleship.coordinate.cache-size=N for larger custom boards.
+     */
+    public static final int CACHE_SIZE = Integer.getInteger("battleship.coordinate.cache-size", 32);
+
+    private static final Coordinate[] CACHE = buildCache(CACHE_SIZE);
+
     public Coordinate {
         if (x < 0 || y < 0) {
             throw new IllegalArgumentException("Coordinates cannot be negative");
         }
     }
+
+    /**
+     * Returns the canonical instance for (x, y) when it falls inside the cache,
+     * so hot paths can share instances (and compare them by identity).
+     * Falls back to a fresh instance outside the cached area.
+     */
+    public static Coordinate of(int x, int y) {
+        if (x >= 0 && y >= 0 && x < CACHE_SIZE && y < CACHE_SIZE) {
+            return CACHE[y * CACHE_SIZE + x];
+        }
+        return new Coordinate(x, y);
+    }
+
+    private static Coordinate[] buildCache(int size) {
+        if (size < 0) throw new IllegalArgumentException("Coordinate cache size cannot be negative");
+        Coordinate[] cache = new Coordinate[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                cache[y * size + x] = new Coordinate(x, y);
+            }
+        }
+        return cache;
+    }
 }
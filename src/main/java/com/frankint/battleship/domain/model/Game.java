@@ -1,8 +1,17 @@
 package com.frankint.battleship.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 
 @Getter
 public class Game {
@@ -12,41 +21,73 @@ public class Game {
     private String currentTurnPlayerId;
     private GameState state;
     private String winnerId;
+    private GameMode mode;
     public static final int FLEET_SIZE = 5;
 
+    // Version of the stored state this game was loaded from, as defined by the repository
+    // that stored it. Null until the game is first saved.
+    @Setter
+    private Long version;
+
+    // Changes made since the last pullEvents(), for persistence adapters that log them
+    @Getter(AccessLevel.NONE)
+    private final List<GameEvent> pendingEvents = new ArrayList<>();
+
     // Constructor for a new game
     public Game(Player player1) {
-        this.id = UUID.randomUUID().toString();
+        this(player1, GameMode.CLASSIC);
+    }
+
+    public Game(Player player1, GameMode mode) {
+        this(UUID.randomUUID().toString(), player1, mode);
+    }
+
+    private Game(String id, Player player1, GameMode mode) {
+        this.id = id;
         this.player1 = player1;
         this.currentTurnPlayerId = player1.getId(); // Player 1 starts
         this.state = GameState.WAITING_FOR_PLAYER;
+        this.mode = mode;
+    }
+
+    // Deep copy; pending events are not carried over
+    private Game(Game other) {
+        this.id = other.id;
+        this.player1 = other.player1.copy();
+        this.player2 = other.player2 != null ? other.player2.copy() : null;
+        this.currentTurnPlayerId = other.currentTurnPlayerId;
+        this.state = other.state;
+        this.winnerId = other.winnerId;
+        this.mode = other.mode;
+        this.version = other.version;
     }
 
-    public static Game reconstitute(String id, Player p1, Player p2, String turn, GameState state, String winner) {
-        Game game = new Game(p1);
-        // We use reflection or direct assignment to force the state
+    public static Game reconstitute(String id, Player p1, Player p2, String turn, GameState state, String winner,
+                                    GameMode mode) {
+        // Keeps the stored id instead of generating one
+        Game game = new Game(id, p1, mode);
         game.player2 = p2;
         game.currentTurnPlayerId = turn;
         game.state = state;
         game.winnerId = winner;
-
-        // Overwrite the random ID generated in constructor with the real one from DB
-        try {
-            var idField = Game.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(game, id);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to reconstitute game", e);
-        }
         return game;
     }
 
+    /**
+     * Deep copy of the game, sharing no mutable state with it.
+     */
+    public Game copy() {
+        return new Game(this);
+    }
+
     public void join(Player player2) {
         if (state != GameState.WAITING_FOR_PLAYER) {
             throw new IllegalStateException("Game is already full or finished");
         }
         this.player2 = player2;
         this.state = GameState.SETUP;
+        Board board = player2.getBoard();
+        pendingEvents.add(new GameEvent.PlayerJoined(player2.getId(), board.getWidth(), board.getHeight()));
     }
 
     public void placeShip(String playerId, ShipType type, Coordinate start, Orientation orientation) {
@@ -64,12 +105,87 @@ public class Game {
 
         // 3. Place the ship (Size is determined by ShipType, not the user!)
         player.getBoard().placeShip(type.getId(), type.getSize(), start, orientation);
+        pendingEvents.add(new GameEvent.ShipsPlaced(playerId, List.of(new ShipPlacement(type, start, orientation))));
 
         // 4. Check if both players are ready
         checkAndStartGame();
     }
 
+    /**
+     * Places a player's whole fleet in one step.
+     * Either every ship is placed or none is; errors name the offending ship type.
+     */
+    public void placeFleet(String playerId, List<ShipPlacement> placements) {
+        if (state != GameState.SETUP && state != GameState.WAITING_FOR_PLAYER) {
+            throw new IllegalStateException("Cannot place ships in state: " + state);
+        }
+
+        Player player = getPlayerById(playerId);
+        Board board = player.getBoard();
+
+        // 1. Every ship type exactly once across the request and the ships already on the board
+        Set<ShipType> seen = EnumSet.noneOf(ShipType.class);
+        for (ShipPlacement placement : placements) {
+            ShipType type = placement.type();
+            if (!seen.add(type)) {
+                throw new IllegalArgumentException("Fleet contains more than one " + type.getId());
+            }
+            if (board.hasPlacedShip(type)) {
+                throw new IllegalArgumentException("You have already placed a " + type.getId());
+            }
+        }
+        for (ShipType type : ShipType.values()) {
+            if (!seen.contains(type) && !board.hasPlacedShip(type)) {
+                throw new IllegalArgumentException("Fleet is missing a " + type.getId());
+            }
+        }
+
+        // 2. Place all ships, undoing the partial fleet if any of them is invalid
+        int shipsBefore = board.getShipCount();
+        for (ShipPlacement placement : placements) {
+            ShipType type = placement.type();
+            try {
+                board.placeShip(type.getId(), type.getSize(), placement.start(), placement.orientation());
+            } catch (IllegalArgumentException e) {
+                board.truncateShips(shipsBefore);
+                throw new IllegalArgumentException("Invalid placement for " + type.getId() + ": " + e.getMessage(), e);
+            }
+        }
+        pendingEvents.add(new GameEvent.ShipsPlaced(playerId, List.copyOf(placements)));
+
+        // 3. Check if both players are ready
+        checkAndStartGame();
+    }
+
+    /**
+     * Randomly places every ship the player has not placed yet.
+     */
+    public void autoPlaceFleet(String playerId, RandomGenerator rng) {
+        if (state != GameState.SETUP && state != GameState.WAITING_FOR_PLAYER) {
+            throw new IllegalStateException("Cannot place ships in state: " + state);
+        }
+
+        Board board = getPlayerById(playerId).getBoard();
+        ShipType[] remaining = Arrays.stream(ShipType.values())
+                .filter(type -> !board.hasPlacedShip(type))
+                .toArray(ShipType[]::new);
+
+        int shipsBefore = board.getShipCount();
+        board.autoPlace(remaining, rng);
+        pendingEvents.add(new GameEvent.ShipsPlaced(playerId, placementsSince(board, shipsBefore)));
+
+        checkAndStartGame();
+    }
+
     public ShotResult fire(String playerId, Coordinate target) {
+        // One shot would pass the turn, skipping the per-ship allowance fireSalvo enforces
+        if (mode == GameMode.SALVO) {
+            throw new IllegalStateException("This game is played in salvos");
+        }
+        return fireShot(playerId, target);
+    }
+
+    private ShotResult fireShot(String playerId, Coordinate target) {
         validateMove(playerId);
 
         Player opponent = playerId.equals(player1.getId()) ? player2 : player1;
@@ -90,10 +206,102 @@ public class Game {
 
         // 4. Switch Turn (Only reached if no exception was thrown)
         switchTurn();
+        pendingEvents.add(new GameEvent.ShotFired(playerId, target));
 
         return result;
     }
 
+    /**
+     * Salvo rules: fires one volley of up to one shot per surviving ship.
+     * The volley is validated up front and applied as a whole, then the turn passes.
+     * Results are returned in the same order as the targets.
+     */
+    public List<ShotResult> fireSalvo(String playerId, List<Coordinate> targets) {
+        if (mode != GameMode.SALVO) {
+            throw new IllegalStateException("Salvo is not enabled for this game");
+        }
+        validateMove(playerId);
+
+        Player shooter = getPlayerById(playerId);
+        Player opponent = shooter == player1 ? player2 : player1;
+        Board target = opponent.getBoard();
+
+        // 1. Validate the whole volley before touching the board
+        int allowed = shooter.getBoard().getShipCount() - shooter.getBoard().getSunkShipCount();
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("A salvo needs at least one target");
+        }
+        if (targets.size() > allowed) {
+            throw new IllegalArgumentException("Salvo allows at most " + allowed + " shots, got " + targets.size());
+        }
+        Set<Coordinate> volley = new HashSet<>();
+        for (Coordinate c : targets) {
+            if (c.x() >= target.getWidth() || c.y() >= target.getHeight()) {
+                throw new IllegalArgumentException("Shot out of bounds at " + c);
+            }
+            if (!volley.add(c)) {
+                throw new IllegalArgumentException("Salvo targets " + c + " more than once");
+            }
+            if (target.isShotAt(c)) {
+                throw new IllegalArgumentException("You have already fired at coordinate " + c);
+            }
+        }
+
+        // 2. Apply every shot
+        List<ShotResult> results = new ArrayList<>(targets.size());
+        for (Coordinate c : targets) {
+            results.add(target.fireShot(c));
+        }
+
+        // 3. Check Win Condition once for the volley
+        if (opponent.hasLost()) {
+            state = GameState.FINISHED;
+            winnerId = playerId;
+        }
+
+        switchTurn();
+        pendingEvents.add(new GameEvent.SalvoFired(playerId, List.copyOf(targets)));
+
+        return results;
+    }
+
+    /**
+     * Re-applies a recorded event through the normal rules, without recording it again.
+     */
+    public void replay(GameEvent event) {
+        int pending = pendingEvents.size();
+        switch (event) {
+            case GameEvent.PlayerJoined e -> join(new Player(e.playerId(), new Board(e.boardWidth(), e.boardHeight())));
+            case GameEvent.ShipsPlaced e -> e.placements()
+                    .forEach(p -> placeShip(e.playerId(), p.type(), p.start(), p.orientation()));
+            // Whatever the mode: single shots recorded before salvo games refused them must still load
+            case GameEvent.ShotFired e -> fireShot(e.playerId(), e.target());
+            case GameEvent.SalvoFired e -> fireSalvo(e.playerId(), e.targets());
+        }
+        pendingEvents.subList(pending, pendingEvents.size()).clear();
+    }
+
+    /**
+     * Returns the events recorded since the last call and forgets them.
+     */
+    public List<GameEvent> pullEvents() {
+        List<GameEvent> events = List.copyOf(pendingEvents);
+        pendingEvents.clear();
+        return events;
+    }
+
+    private static List<ShipPlacement> placementsSince(Board board, int shipsBefore) {
+        List<Ship> ships = board.getShips();
+        List<ShipPlacement> placements = new ArrayList<>(ships.size() - shipsBefore);
+        for (Ship ship : ships.subList(shipsBefore, ships.size())) {
+            List<Coordinate> coords = ship.getCoordinates();
+            boolean vertical = coords.size() > 1 && coords.get(1).x() == coords.get(0).x();
+            placements.add(new ShipPlacement(ShipType.fromId(ship.getId()), coords.get(0),
+                    vertical ? Orientation.VERTICAL : Orientation.HORIZONTAL));
+        }
+        return placements;
+    }
+
     private void validateMove(String playerId) {
         if (state != GameState.ACTIVE) {
             throw new IllegalStateException("Game is not active");
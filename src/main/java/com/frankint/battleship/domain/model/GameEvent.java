@@ -0,0 +1,22 @@
+package com.frankint.battleship.domain.model;
+
+import java.util.List;
+
+/**
+ * A state change recorded by {@link Game}.
+ * Replaying a game's events in order on top of an earlier copy of the game
+ * (see {@link Game#replay}) brings it to the same state.
+ */
+public sealed interface GameEvent {
+
+    String playerId();
+
+    record PlayerJoined(String playerId, int boardWidth, int boardHeight) implements GameEvent {}
+
+    // Ships in the order they were put on the board
+    record ShipsPlaced(String playerId, List<ShipPlacement> placements) implements GameEvent {}
+
+    record ShotFired(String playerId, Coordinate target) implements GameEvent {}
+
+    record SalvoFired(String playerId, List<Coordinate> targets) implements GameEvent {}
+}
@@ -0,0 +1,6 @@
+package com.frankint.battleship.domain.model;
+
+public enum GameMode {
+    CLASSIC, // One shot per turn
+    SALVO    // One shot per surviving ship per turn, fired as a single volley
+}
@@ -0,0 +1,29 @@
+package com.frankint.battleship.domain.model;
+
+import java.time.Instant;
+
+/**
+ * The few fields a game list shows, read without loading either board.
+ * Lists are ordered newest first; {@link #position()} is where the next page starts.
+ */
+public record GameSummary(
+        String gameId,
+        GameState state,
+        GameMode mode,
+        String player1Id,
+        String player2Id, // Null while waiting for a second player
+        String winnerId,
+        Instant createdAt
+) {
+
+    // Keyset position: games created before it, or at the same instant with a smaller id
+    public record Position(Instant createdAt, String gameId) {}
+
+    public Position position() {
+        return new Position(createdAt, gameId);
+    }
+
+    public String opponentOf(String playerId) {
+        return playerId.equals(player1Id) ? player2Id : player1Id;
+    }
+}
@@ -0,0 +1,48 @@
+package com.frankint.battleship.domain.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed in-bounds placements for a ship length on a board size.
+ * Each placement is encoded as {@code startCell << 1 | vertical}, so the auto-placer
+ * only ever draws from placements that fit, and only has to test them for overlap.
+ */
+final class PlacementTable {
+
+    private static final Map<Long, int[]> CACHE = new ConcurrentHashMap<>();
+
+    private PlacementTable() {
+    }
+
+    static int[] forShip(int width, int height, int length) {
+        long key = ((long) width << 42) | ((long) height << 21) | length;
+        return CACHE.computeIfAbsent(key, k -> build(width, height, length));
+    }
+
+    static int startCell(int placement) {
+        return placement >>> 1;
+    }
+
+    static boolean isVertical(int placement) {
+        return (placement & 1) != 0;
+    }
+
+    private static int[] build(int width, int height, int length) {
+        int horizontal = width >= length ? (width - length + 1) * height : 0;
+        int vertical = height >= length ? width * (height - length + 1) : 0;
+        // A length-1 ship looks the same either way, so only keep one orientation
+        if (length == 1) vertical = 0;
+
+        int[] placements = new int[horizontal + vertical];
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                if (x + length <= width) placements[i++] = cell << 1;
+                if (length > 1 && y + length <= height) placements[i++] = (cell << 1) | 1;
+            }
+        }
+        return placements;
+    }
+}
@@ -9,6 +9,10 @@ public class Player {
     private final String id;
     private final Board board;
 
+    public Player copy() {
+        return new Player(id, board.copy());
+    }
+
     public boolean hasLost() {
         return board.allShipsSunk();
     }
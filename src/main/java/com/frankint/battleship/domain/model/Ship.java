@@ -29,6 +29,16 @@ public class Ship {
         this.coordinates = new ArrayList<>();
     }
 
+    Ship copy() {
+        Ship copy = new Ship();
+        copy.id = id;
+        copy.size = size;
+        copy.health = health;
+        copy.sunk = sunk;
+        copy.coordinates.addAll(coordinates);
+        return copy;
+    }
+
     public boolean isHit(Coordinate shot) {
         return coordinates.contains(shot);
     }
@@ -0,0 +1,9 @@
+package com.frankint.battleship.domain.model;
+
+public record ShipPlacement(ShipType type, Coordinate start, Orientation orientation) {
+    public ShipPlacement {
+        if (type == null) throw new IllegalArgumentException("Ship type is required");
+        if (start == null) throw new IllegalArgumentException("Start coordinate is required for " + type.getId());
+        if (orientation == null) throw new IllegalArgumentException("Orientation is required for " + type.getId());
+    }
+}
@@ -0,0 +1,123 @@
+package com.frankint.battleship.infrastructure.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in CBOR bodies for STOMP clients; JSON stays the default.
+ * <ul>
+ *   <li>A client asks for it with a {@code codec:cbor} header on CONNECT. Every message sent to that session
+ *       then carries CBOR, as content-type application/octet-stream: the only type Spring's STOMP handler
+ *       sends as a binary WebSocket frame.</li>
+ *   <li>Bodies are transcoded from the JSON the broker holds, token by token, so a message is still
+ *       serialized once whichever codecs its subscribers use.</li>
+ *   <li>Frames the client sends as application/octet-stream are read as CBOR by the {@link #messageConverter()}.</li>
+ * </ul>
+ * SockJS cannot carry binary frames, so CBOR clients connect to the endpoint's plain WebSocket URL, /ws/websocket.
+ */
+@Component
+public class BinaryStompCodec {
+
+    public static final String CODEC_HEADER = "codec";
+    public static final String CBOR = "cbor";
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final MappingJackson2MessageConverter messageConverter;
+
+    // The builder Spring Boot configures for JSON, so CBOR payloads map the same way
+    public BinaryStompCodec(Jackson2ObjectMapperBuilder objectMapperBuilder, MeterRegistry meterRegistry) {
+        messageConverter = new MappingJackson2MessageConverter(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        messageConverter.setObjectMapper(objectMapperBuilder.factory(new CBORFactory()).build());
+        // Otherwise frames without a content-type would be read as CBOR too
+        messageConverter.setStrictContentTypeMatch(true);
+
+        Gauge.builder("battleship.ws.cbor.sessions", cborSessions, Set::size).register(meterRegistry);
+    }
+
+    public MessageConverter messageConverter() {
+        return messageConverter;
+    }
+
+    // Client inbound channel: notes the sessions that asked for CBOR
+    public ChannelInterceptor inbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())
+                        && CBOR.equalsIgnoreCase(accessor.getFirstNativeHeader(CODEC_HEADER))) {
+                    cborSessions.add(accessor.getSessionId());
+                }
+                return message;
+            }
+        };
+    }
+
+    // Client outbound channel: one message per subscriber, so each session gets the codec it asked for
+    public ChannelInterceptor outbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                MessageHeaders headers = message.getHeaders();
+                if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                        || !cborSessions.contains(SimpMessageHeaderAccessor.getSessionId(headers))
+                        || !(message.getPayload() instanceof byte[] json)) {
+                    return message;
+                }
+
+                MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+                if (!MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+                    return message;
+                }
+                accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+                return MessageBuilder.createMessage(toCbor(json), accessor.getMessageHeaders());
+            }
+        };
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    public byte[] toCbor(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.frankint.battleship.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.frankint.battleship.domain.model.Board;
+import com.frankint.battleship.domain.model.Coordinate;
+import com.frankint.battleship.domain.model.Ship;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    // Spring Boot registers every Module bean on the shared ObjectMapper,
+    // which is used by REST, STOMP and the boardJson persistence mapper alike.
+    @Bean
+    public Module battleshipModule() {
+        SimpleModule module = new SimpleModule("battleship");
+        module.addDeserializer(Coordinate.class, new CoordinateDeserializer());
+        module.setMixInAnnotation(Board.class, BoardMixin.class);
+        return module;
+    }
+
+    /**
+     * Keeps Board's derived fleet-health accessors out of the persisted boardJson;
+     * they are recomputed from ships and shots when the board is loaded.
+     */
+    abstract static class BoardMixin {
+        @JsonIgnore
+        abstract int getShipCount();
+
+        @JsonIgnore
+        abstract int getRemainingShipCells();
+
+        @JsonIgnore
+        abstract int getSunkShipCount();
+
+        @JsonIgnore
+        abstract List<Ship> getSunkShips();
+    }
+
+    /**
+     * Streams {"x":..,"y":..} straight into Coordinate.of so deserialized
+     * coordinates share the canonical instances instead of allocating new ones.
+     */
+    static class CoordinateDeserializer extends StdDeserializer<Coordinate> {
+
+        CoordinateDeserializer() {
+            super(Coordinate.class);
+        }
+
+        @Override
+        public Coordinate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (Coordinate) ctxt.handleUnexpectedToken(Coordinate.class, p);
+            }
+            int x = 0;
+            int y = 0;
+            boolean hasX = false;
+            boolean hasY = false;
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "x" -> { x = p.getIntValue(); hasX = true; }
+                    case "y" -> { y = p.getIntValue(); hasY = true; }
+                    default -> p.skipChildren();
+                }
+            }
+            if (!hasX || !hasY) {
+                return ctxt.reportInputMismatch(this, "Coordinate requires both x and y");
+            }
+            try {
+                return Coordinate.of(x, y);
+            } catch (IllegalArgumentException e) {
+                return (Coordinate) ctxt.handleInstantiationProblem(Coordinate.class, null, e);
+            }
+        }
+    }
+}
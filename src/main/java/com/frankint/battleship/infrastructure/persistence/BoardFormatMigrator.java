@@ -0,0 +1,74 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaPlayerRepository;
+import com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Converts players still stored as boardJson to the binary boardData format in the background.
+ * Reads handle both formats, so the migration can run at its own pace.
+ * <p>
+ * Each row is converted with a conditional UPDATE, so a move saved meanwhile is never overwritten;
+ * rows whose JSON cannot be read are logged and left as they are.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.board-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class BoardFormatMigrator {
+
+    private final JpaPlayerRepository playerRepository;
+    private final GameEntityMapper gameEntityMapper;
+    private final BoardCodec boardCodec;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${battleship.board-migration.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${battleship.board-migration.initial-delay-ms:30000}",
+            fixedDelayString = "${battleship.board-migration.delay-ms:60000}")
+    public void migrate() {
+        int total = 0;
+        String after = "";
+        Batch batch;
+        do {
+            String from = after;
+            batch = transactionTemplate.execute(status -> migrateBatch(from));
+            total += batch.migrated();
+            after = batch.lastId();
+        } while (batch.read() == batchSize);
+
+        if (total > 0) log.info("Migrated {} boards to the binary format", total);
+    }
+
+    record Batch(int read, int migrated, String lastId) {}
+
+    // One batch per transaction, the rows after the given id
+    Batch migrateBatch(String after) {
+        List<PlayerEntity> batch = playerRepository
+                .findByBoardDataIsNullAndBoardJsonIsNotNullAndIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize));
+        int migrated = 0;
+        for (PlayerEntity player : batch) {
+            byte[] boardData;
+            try {
+                boardData = boardCodec.encode(gameEntityMapper.toBoard(player));
+            } catch (RuntimeException e) {
+                log.warn("Skipping player {}: its board cannot be read", player.getId(), e);
+                continue;
+            }
+            migrated += playerRepository.convertLegacyBoard(player.getId(), boardData);
+        }
+        return new Batch(batch.size(), migrated, batch.isEmpty() ? after : batch.get(batch.size() - 1).getId());
+    }
+}
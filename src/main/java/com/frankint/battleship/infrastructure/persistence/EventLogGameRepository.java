@@ -0,0 +1,172 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameEvent;
+import com.frankint.battleship.domain.model.GameState;
+import com.frankint.battleship.domain.model.GameSummary;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEventEntity;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaGameEventRepository;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEventCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Event-sourced storage: each save appends the game's new events to game_events,
+ * and the games/players rows are only rewritten as a snapshot when
+ * <ul>
+ *   <li>the game is created or a player joins (history queries filter on the seats),</li>
+ *   <li>ships are placed, which may start the game (game lists show the state),</li>
+ *   <li>{@code battleship.event-log.snapshot-interval} events have passed since the last one,</li>
+ *   <li>the game is finished.</li>
+ * </ul>
+ * Loading reads the snapshot and replays the events after it.
+ * <p>
+ * A game's version is the seq of its last event: two saves based on the same version would
+ * both append at the next seq, and the primary key lets only one of them in.
+ */
+@Primary
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.persistence.mode", havingValue = "event-log")
+public class EventLogGameRepository implements GameRepository {
+
+    private final JpaGameRepository jpaRepository;
+    private final JpaGameEventRepository eventRepository;
+    private final GameEntityMapper mapper;
+    private final GameEventCodec eventCodec;
+
+    @Value("${battleship.event-log.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Override
+    @Transactional
+    public Game save(Game game) {
+        List<GameEvent> events = game.pullEvents();
+
+        // 1. Nothing happened: only a brand-new game needs a row
+        if (events.isEmpty()) {
+            if (!jpaRepository.existsById(game.getId())) {
+                writeSnapshot(game, 0);
+                game.setVersion(0L);
+            }
+            return game;
+        }
+
+        // 2. Append the new events after the last one stored, which must be the one the game was loaded at
+        Integer lastSeq = eventRepository.findLastSeq(game.getId());
+        int base = lastSeq != null ? lastSeq : 0;
+        if (game.getVersion() != null
+                && (game.getVersion() != base || (lastSeq == null && !jpaRepository.existsById(game.getId())))) {
+            throw new ObjectOptimisticLockingFailureException(GameEntity.class, game.getId());
+        }
+        List<GameEventEntity> rows = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            rows.add(eventCodec.toEntity(game.getId(), base + i + 1, events.get(i)));
+        }
+        try {
+            // Flushed here, so a concurrent append surfaces as a conflict rather than at commit
+            eventRepository.saveAllAndFlush(rows);
+        } catch (DataIntegrityViolationException e) {
+            throw new ObjectOptimisticLockingFailureException(GameEntity.class, game.getId(), e);
+        }
+
+        // 3. Fold them into the snapshot when one is due
+        int seq = base + events.size();
+        boolean seatsOrStateChanged = events.stream()
+                .anyMatch(e -> e instanceof GameEvent.PlayerJoined || e instanceof GameEvent.ShipsPlaced);
+        boolean intervalPassed = base / snapshotInterval != seq / snapshotInterval;
+        if (seatsOrStateChanged || intervalPassed || game.getState() == GameState.FINISHED) {
+            writeSnapshot(game, seq);
+        }
+        game.setVersion((long) seq);
+        return game;
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return jpaRepository.findById(gameId).map(entity -> {
+            Game game = mapper.toDomain(entity);
+            int snapshotSeq = entity.getSnapshotSeq() != null ? entity.getSnapshotSeq() : 0;
+            replay(game, entity, eventRepository.findByGameIdAndSeqGreaterThanOrderBySeqAsc(gameId, snapshotSeq));
+            return game;
+        });
+    }
+
+    @Override
+    public void delete(String gameId) {
+        eventRepository.deleteByGameId(gameId);
+        jpaRepository.deleteById(gameId);
+    }
+
+    @Override
+    public List<Game> findGamesByPlayer(String playerId) {
+        List<GameEntity> entities = jpaRepository.findVisibleGames(playerId);
+        if (entities.isEmpty()) return List.of();
+
+        // One query for the tails of every listed game
+        Map<String, List<GameEventEntity>> tails = eventRepository
+                .findTails(entities.stream().map(GameEntity::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(GameEventEntity::getGameId));
+
+        return entities.stream()
+                .map(entity -> {
+                    Game game = mapper.toDomain(entity);
+                    replay(game, entity, tails.getOrDefault(entity.getId(), List.of()));
+                    return game;
+                })
+                .toList();
+    }
+
+    @Override
+    public void hideGame(String gameId, String playerId) {
+        jpaRepository.findById(gameId).ifPresent(entity -> {
+            if (PostgresGameRepository.hideSeat(entity, playerId)) {
+                jpaRepository.save(entity);
+            }
+        });
+    }
+
+    // Served from the snapshot rows: every change a summary shows is written to them
+    @Override
+    public List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit) {
+        return PostgresGameRepository.findSummaries(jpaRepository, playerId, after, limit);
+    }
+
+    private void replay(Game game, GameEntity snapshot, List<GameEventEntity> tail) {
+        for (GameEventEntity row : tail) {
+            game.replay(eventCodec.toDomain(row));
+        }
+        int snapshotSeq = snapshot.getSnapshotSeq() != null ? snapshot.getSnapshotSeq() : 0;
+        game.setVersion((long) (tail.isEmpty() ? snapshotSeq : tail.get(tail.size() - 1).getSeq()));
+    }
+
+    private void writeSnapshot(Game game, int seq) {
+        Optional<GameEntity> existing = jpaRepository.findById(game.getId());
+        if (existing.isPresent()) {
+            // The events since the last snapshot may have touched either board
+            GameEntity entity = existing.get();
+            mapper.updateEntity(entity, game, PostgresGameRepository.changedBoards(game, List.of()));
+            entity.setSnapshotSeq(seq);
+        } else {
+            GameEntity entity = mapper.toEntity(game);
+            entity.setSnapshotSeq(seq);
+            jpaRepository.save(entity);
+        }
+    }
+}
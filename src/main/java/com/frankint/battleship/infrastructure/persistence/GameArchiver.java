@@ -0,0 +1,90 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.application.service.GameCache;
+import com.frankint.battleship.infrastructure.persistence.entity.ArchivedGameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaArchivedGameRepository;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaGameEventRepository;
+import com.frankint.battleship.infrastructure.persistence.mapper.ArchivedGameMapper;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves games out of the hot games/players tables into archived_games, so that table size
+ * (and with it every history query) tracks the games still in play rather than all games ever:
+ * <ul>
+ *   <li>FINISHED games older than {@code battleship.archive.finished-age-days},</li>
+ *   <li>games hidden by both seats, whatever their state.</li>
+ * </ul>
+ * Each game is loaded through the active {@link GameRepository} and written over its row before
+ * archiving, since the row alone can lag the game (event-log snapshots leave out the tail events).
+ * Archived games stay readable through {@link PostgresGameArchive}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class GameArchiver {
+
+    private final GameRepository games;
+    private final JpaGameRepository gameRepository;
+    private final JpaGameEventRepository eventRepository;
+    private final JpaArchivedGameRepository archiveRepository;
+    private final ArchivedGameMapper archivedGameMapper;
+    private final GameEntityMapper gameEntityMapper;
+    private final GameCache gameCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${battleship.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${battleship.archive.finished-age-days:30}")
+    private int finishedAgeDays;
+
+    @Scheduled(initialDelayString = "${battleship.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${battleship.archive.delay-ms:3600000}")
+    public void archive() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(finishedAgeDays));
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+        } while (archived == batchSize);
+
+        if (total > 0) log.info("Archived {} games", total);
+    }
+
+    // One batch per transaction; each archived game drops out of the next query
+    int archiveBatch(Instant finishedBefore) {
+        List<GameEntity> batch = gameRepository.findAllById(
+                gameRepository.findArchivable(finishedBefore, Limit.of(batchSize)));
+        if (batch.isEmpty()) return 0;
+
+        Instant now = Instant.now();
+        List<ArchivedGameEntity> archives = new ArrayList<>(batch.size());
+        for (GameEntity game : batch) {
+            games.findById(game.getId()).ifPresent(latest -> gameEntityMapper.updateEntity(
+                    game, latest, PostgresGameRepository.changedBoards(latest, List.of())));
+            archives.add(archivedGameMapper.toArchive(game, now));
+            eventRepository.deleteByGameId(game.getId()); // Event-log mode only; a no-op otherwise
+            gameCache.invalidate(game.getId());
+        }
+        archiveRepository.saveAll(archives);
+        gameRepository.deleteAll(batch); // Cascades to the seat rows
+        return batch.size();
+    }
+}
@@ -0,0 +1,279 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameSummary;
+import com.frankint.battleship.infrastructure.persistence.journal.GameJournal;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameRecordCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Games live in memory and every change is appended to a memory-mapped journal on local disk
+ * (GameJournal), so no request waits for a database.
+ * <ul>
+ *   <li>A save appends the whole game as one GameRecordCodec record, and memory keeps that same record:
+ *       replay can only restore a game as some save left it, and a game costs little more than its record
+ *       in the heap. Loads decode the record; history and summaries only decode its header.</li>
+ *   <li>Writes are serialized and reach memory only once journaled, so the journal has every change
+ *       in the order memory saw it, and a change that could not be journaled did not happen.</li>
+ *   <li>On startup the journal is replayed, reading only the record headers; a record cut short by a crash
+ *       is dropped.</li>
+ *   <li>Every {@code battleship.journal.sync-interval-ms} the journal is forced to disk. A killed process
+ *       loses nothing; a power loss loses at most that interval.</li>
+ *   <li>Once the journal has doubled since the last compaction (and is at least
+ *       {@code battleship.journal.compact-min-bytes}), it is rewritten with one record per game.
+ *       Writes wait for the rewrite.</li>
+ * </ul>
+ * Same semantics as PostgresGameRepository (versions, per-seat visibility). Only for single-node deployments.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "battleship.persistence.mode", havingValue = "journal")
+public class JournalGameRepository implements GameRepository {
+
+    // Record types
+    private static final byte SAVED = 1;   // GameRecordCodec record
+    private static final byte DELETED = 2; // UTF-8 game id
+
+    // A stored game with its header, decoded for a lookup
+    private record Entry(byte[] record, GameRecordCodec.Header header) {}
+
+    private final GameRecordCodec codec;
+    private final long compactMinBytes;
+    // Game id -> its latest record. Nothing else per game, to keep a million games cheap to hold and to replay
+    private final Map<String, byte[]> games = new ConcurrentHashMap<>();
+    // Player id -> ids of the games they hold a seat in. Copied on write (writes are serialized), so
+    // readers need no lock, and a player costs one small array rather than a set
+    private final Map<String, String[]> gamesByPlayer = new ConcurrentHashMap<>();
+    // Held around every change and its record, and by sync and compaction
+    private final Object writeLock = new Object();
+    private GameJournal journal;
+    private long compactedSize;
+
+    public JournalGameRepository(GameRecordCodec codec,
+                                 @Value("${battleship.journal.dir:data/journal}") Path dir,
+                                 @Value("${battleship.journal.region-bytes:67108864}") int regionBytes,
+                                 @Value("${battleship.journal.compact-min-bytes:67108864}") long compactMinBytes)
+            throws IOException {
+        this.codec = codec;
+        this.compactMinBytes = compactMinBytes;
+
+        long start = System.nanoTime();
+        this.journal = GameJournal.open(dir, regionBytes, this::replay);
+        this.compactedSize = journal.size();
+        log.info("Recovered {} games from {} in {} ms", games.size(), dir, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Game save(Game game) {
+        synchronized (writeLock) {
+            byte[] current = games.get(game.getId());
+            GameRecordCodec.Header stored = current != null ? codec.decodeHeader(current) : null;
+            // 1. A game that was saved or deleted since it was loaded would be overwritten
+            if (!Objects.equals(game.getVersion(), stored != null ? stored.version() : null)) {
+                throw new OptimisticLockingFailureException("Game " + game.getId() + " was changed by another request");
+            }
+
+            long version = stored != null ? stored.version() + 1 : 0;
+            byte[] record = stored != null
+                    ? codec.encode(game, version, stored.summary().createdAt(), stored.p1Visible(), stored.p2Visible())
+                    : codec.encode(game, version, Instant.now(), true, true);
+            append(SAVED, record);
+            put(record);
+            game.setVersion(version);
+            game.pullEvents(); // Nothing else needs its event log
+        }
+        return game;
+    }
+
+    // Decoded from the record, so every caller gets its own copy
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return Optional.ofNullable(games.get(gameId)).map(codec::decode);
+    }
+
+    @Override
+    public void delete(String gameId) {
+        synchronized (writeLock) {
+            if (!games.containsKey(gameId)) return;
+            append(DELETED, gameId.getBytes(StandardCharsets.UTF_8));
+            remove(gameId);
+        }
+    }
+
+    @Override
+    public List<Game> findGamesByPlayer(String playerId) {
+        return visibleEntries(playerId)
+                .map(entry -> codec.decode(entry.record()))
+                .toList();
+    }
+
+    @Override
+    public void hideGame(String gameId, String playerId) {
+        synchronized (writeLock) {
+            byte[] current = games.get(gameId);
+            if (current == null) return;
+            GameRecordCodec.Header header = codec.decodeHeader(current);
+            boolean p1Visible = header.p1Visible();
+            boolean p2Visible = header.p2Visible();
+            // Same order as PostgresGameRepository.hideSeat: player 1's seat first
+            if (header.summary().player1Id().equals(playerId)) {
+                p1Visible = false;
+            } else if (playerId.equals(header.summary().player2Id())) {
+                p2Visible = false;
+            }
+            if (p1Visible == header.p1Visible() && p2Visible == header.p2Visible()) return;
+
+            byte[] record = codec.withVisibility(current, p1Visible, p2Visible);
+            append(SAVED, record);
+            put(record);
+        }
+    }
+
+    @Override
+    public List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit) {
+        Comparator<GameSummary.Position> newestFirst = Comparator
+                .comparing(GameSummary.Position::createdAt)
+                .thenComparing(GameSummary.Position::gameId)
+                .reversed();
+        return visibleEntries(playerId)
+                .map(entry -> entry.header().summary())
+                .filter(summary -> after == null || newestFirst.compare(summary.position(), after) > 0)
+                .sorted(Comparator.comparing(GameSummary::position, newestFirst))
+                .limit(limit)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${battleship.journal.sync-interval-ms:1000}")
+    public void sync() throws IOException {
+        synchronized (writeLock) {
+            journal.force();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${battleship.journal.compact-check-ms:10000}")
+    public void compactIfGrown() throws IOException {
+        synchronized (writeLock) {
+            if (journal.size() >= Math.max(compactMinBytes, 2 * compactedSize)) compact();
+        }
+    }
+
+    /**
+     * Rewrites the journal with one record per stored game.
+     */
+    public void compact() throws IOException {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            long before = journal.size();
+            journal = journal.compact(next -> {
+                for (byte[] record : games.values()) {
+                    next.append(SAVED, record);
+                }
+            });
+            compactedSize = journal.size();
+            log.info("Compacted the game journal from {} to {} bytes in {} ms",
+                    before, compactedSize, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    long journalSize() {
+        synchronized (writeLock) {
+            return journal.size();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (writeLock) {
+            journal.force();
+            journal.close();
+        }
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            journal.append(type, payload);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not write to the game journal", e);
+        }
+    }
+
+    private void replay(byte type, ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        switch (type) {
+            case SAVED -> put(bytes);
+            case DELETED -> remove(new String(bytes, StandardCharsets.UTF_8));
+            default -> throw new IllegalStateException("Unknown game journal record type " + type);
+        }
+    }
+
+    private void put(byte[] record) {
+        GameSummary summary = codec.decodeHeader(record).summary();
+        byte[] previous = games.put(summary.gameId(), record);
+        // Seats are only ever added: index the ones the previous record did not have
+        if (previous == null) index(summary.player1Id(), summary.gameId());
+        if (previous == null || !codec.hasPlayer2(previous)) index(summary.player2Id(), summary.gameId());
+    }
+
+    private void remove(String gameId) {
+        byte[] record = games.remove(gameId);
+        if (record == null) return;
+        GameSummary summary = codec.decodeHeader(record).summary();
+        unindex(summary.player1Id(), gameId);
+        unindex(summary.player2Id(), gameId);
+    }
+
+    private Stream<Entry> visibleEntries(String playerId) {
+        return Arrays.stream(gamesByPlayer.getOrDefault(playerId, new String[0]))
+                .map(games::get)
+                .filter(Objects::nonNull) // Deleted since the index was read
+                .map(record -> new Entry(record, codec.decodeHeader(record)))
+                .filter(entry -> isVisibleTo(entry.header(), playerId));
+    }
+
+    private static boolean isVisibleTo(GameRecordCodec.Header header, String playerId) {
+        if (header.summary().player1Id().equals(playerId) && header.p1Visible()) return true;
+        return playerId.equals(header.summary().player2Id()) && header.p2Visible();
+    }
+
+    private void index(String playerId, String gameId) {
+        if (playerId == null) return;
+        gamesByPlayer.merge(playerId, new String[]{gameId}, (gameIds, added) -> {
+            String[] grown = Arrays.copyOf(gameIds, gameIds.length + 1);
+            grown[gameIds.length] = gameId;
+            return grown;
+        });
+    }
+
+    private void unindex(String playerId, String gameId) {
+        if (playerId == null) return;
+        gamesByPlayer.computeIfPresent(playerId, (id, gameIds) -> {
+            String[] remaining = Arrays.stream(gameIds).filter(other -> !other.equals(gameId)).toArray(String[]::new);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+}
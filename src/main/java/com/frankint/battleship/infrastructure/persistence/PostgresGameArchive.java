@@ -0,0 +1,23 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.port.out.GameArchive;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaArchivedGameRepository;
+import com.frankint.battleship.infrastructure.persistence.mapper.ArchivedGameMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class PostgresGameArchive implements GameArchive {
+
+    private final JpaArchivedGameRepository archiveRepository;
+    private final ArchivedGameMapper mapper;
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return archiveRepository.findById(gameId).map(mapper::toDomain);
+    }
+}
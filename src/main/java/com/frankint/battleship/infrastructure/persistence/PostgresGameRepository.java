@@ -2,17 +2,27 @@ package com.frankint.battleship.infrastructure.persistence;
 
 import com.frankint.battleship.application.port.out.GameRepository;
 import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameEvent;
+import com.frankint.battleship.domain.model.GameSummary;
 import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
 import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 interface JpaGameRepository extends JpaRepository<GameEntity, String> {
 
@@ -24,34 +34,82 @@ interface JpaGameRepository extends JpaRepository<GameEntity, String> {
             "(p1.userId = :userId AND g.p1Visible = true) OR " +
             "(p2.userId = :userId AND g.p2Visible = true)")
     List<GameEntity> findVisibleGames(@Param("userId") String userId);
+
+    // Same filter, but only the list columns: the players join never loads a board
+    String SUMMARY = "SELECT new com.frankint.battleship.domain.model.GameSummary(" +
+            "g.id, g.state, COALESCE(g.mode, com.frankint.battleship.domain.model.GameMode.CLASSIC), " +
+            "p1.userId, p2.userId, g.winnerId, g.createdAt) " +
+            "FROM GameEntity g " +
+            "JOIN g.player1 p1 " +
+            "LEFT JOIN g.player2 p2 " +
+            "WHERE ((p1.userId = :userId AND g.p1Visible = true) OR " +
+            "(p2.userId = :userId AND g.p2Visible = true)) ";
+    String NEWEST_FIRST = "ORDER BY g.createdAt DESC, g.id DESC";
+
+    @Query(SUMMARY + NEWEST_FIRST)
+    List<GameSummary> findSummaries(@Param("userId") String userId, Limit limit);
+
+    // Keyset page: resumes after the last game of the previous page, without an OFFSET scan
+    @Query(SUMMARY +
+            "AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :gameId)) " +
+            NEWEST_FIRST)
+    List<GameSummary> findSummariesAfter(@Param("userId") String userId,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("gameId") String gameId,
+                                         Limit limit);
+
+    // Games for the GameArchiver; games finished before finishedAt existed are aged by creation time
+    @Query("SELECT g.id FROM GameEntity g WHERE " +
+            "(g.state = com.frankint.battleship.domain.model.GameState.FINISHED " +
+            "AND COALESCE(g.finishedAt, g.createdAt) < :finishedBefore) OR " +
+            "(g.p1Visible = false AND g.p2Visible = false)")
+    List<String> findArchivable(@Param("finishedBefore") Instant finishedBefore, Limit limit);
 }
 
 @Primary
 @Repository
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.persistence.mode", havingValue = "state", matchIfMissing = true)
 public class PostgresGameRepository implements GameRepository {
 
     private final JpaGameRepository jpaRepository;
     private final GameEntityMapper mapper;
 
+    // Joins the caller's transaction, so the entity loaded by findById is the one patched here
     @Override
+    @Transactional
     public Game save(Game game) {
-        GameEntity entity = mapper.toEntity(game);
+        List<GameEvent> events = game.pullEvents();
 
+        // Already in the persistence context if it was loaded earlier in this transaction
         Optional<GameEntity> existing = jpaRepository.findById(game.getId());
+        checkVersion(game, existing.map(GameEntity::getVersion).orElse(null));
 
         if (existing.isPresent()) {
-            // Existing game: Preserve current flags
-            entity.setP1Visible(existing.get().isP1Visible());
-            entity.setP2Visible(existing.get().isP2Visible());
+            // Existing game: patch the loaded entity, so only what the move changed is written.
+            // Hibernate bumps the version on flush, with the loaded one as the UPDATE's condition.
+            GameEntity entity = existing.get();
+            mapper.updateEntity(entity, game, changedBoards(game, events));
+            game.setVersion(entity.getVersion() + 1);
         } else {
             // NEW GAME: Force visibility to TRUE
+            GameEntity entity = mapper.toEntity(game);
             entity.setP1Visible(true);
             entity.setP2Visible(true);
+            jpaRepository.save(entity);
+            game.setVersion(entity.getVersion());
         }
+        return game;
+    }
 
-        GameEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+    /**
+     * Writes the whole game over the stored row without a version check, for callers that track
+     * the version elsewhere; the game keeps its version. A row deleted or archived meanwhile stays gone.
+     */
+    void overwrite(Game game) {
+        game.pullEvents();
+        jpaRepository.findById(game.getId())
+                .ifPresent(entity -> mapper.updateEntity(entity, game, changedBoards(game, List.of())));
     }
 
     @Override
@@ -75,22 +133,72 @@ public class PostgresGameRepository implements GameRepository {
     @Override
     public void hideGame(String gameId, String playerId) {
         jpaRepository.findById(gameId).ifPresent(entity -> {
-            boolean changed = false;
-
-            // Check Player 1
-            if (entity.getPlayer1().getUserId().equals(playerId)) {
-                entity.setP1Visible(false);
-                changed = true;
-            }
-            // Check Player 2 (Null safe)
-            else if (entity.getPlayer2() != null && entity.getPlayer2().getUserId().equals(playerId)) {
-                entity.setP2Visible(false);
-                changed = true;
-            }
-
-            if (changed) {
+            if (hideSeat(entity, playerId)) {
                 jpaRepository.save(entity);
             }
         });
     }
+
+    @Override
+    public List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit) {
+        return findSummaries(jpaRepository, playerId, after, limit);
+    }
+
+    static List<GameSummary> findSummaries(JpaGameRepository jpaRepository, String playerId,
+                                           GameSummary.Position after, int limit) {
+        if (after == null) return jpaRepository.findSummaries(playerId, Limit.of(limit));
+        return jpaRepository.findSummariesAfter(playerId, after.createdAt(), after.gameId(), Limit.of(limit));
+    }
+
+    /**
+     * Fails if the stored game is not the one {@code game} was loaded from: it was saved or deleted
+     * since, and saving would overwrite that change. {@code storedVersion} is null if there is no stored game.
+     */
+    static void checkVersion(Game game, Long storedVersion) {
+        if (!Objects.equals(game.getVersion(), storedVersion)) {
+            throw new ObjectOptimisticLockingFailureException(GameEntity.class, game.getId());
+        }
+    }
+
+    /**
+     * Players whose boards the events touched: a shot changes the opponent's board,
+     * a placement the placer's own. Without events (a game changed outside its rules)
+     * every board is treated as changed.
+     */
+    static Set<String> changedBoards(Game game, List<GameEvent> events) {
+        Set<String> players = new HashSet<>();
+        if (events.isEmpty()) {
+            players.add(game.getPlayer1().getId());
+            if (game.getPlayer2() != null) players.add(game.getPlayer2().getId());
+            return players;
+        }
+        for (GameEvent event : events) {
+            switch (event) {
+                case GameEvent.ShipsPlaced e -> players.add(e.playerId());
+                case GameEvent.ShotFired e -> players.add(opponentOf(game, e.playerId()));
+                case GameEvent.SalvoFired e -> players.add(opponentOf(game, e.playerId()));
+                case GameEvent.PlayerJoined e -> {} // A new seat row is inserted anyway
+            }
+        }
+        return players;
+    }
+
+    private static String opponentOf(Game game, String playerId) {
+        return game.getPlayer1().getId().equals(playerId) ? game.getPlayer2().getId() : game.getPlayer1().getId();
+    }
+
+    // Returns true if the player holds a seat in the game
+    static boolean hideSeat(GameEntity entity, String playerId) {
+        // Check Player 1
+        if (entity.getPlayer1().getUserId().equals(playerId)) {
+            entity.setP1Visible(false);
+            return true;
+        }
+        // Check Player 2 (Null safe)
+        if (entity.getPlayer2() != null && entity.getPlayer2().getUserId().equals(playerId)) {
+            entity.setP2Visible(false);
+            return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
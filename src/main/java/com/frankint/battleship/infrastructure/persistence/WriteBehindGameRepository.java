@@ -0,0 +1,200 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.adapter.persistence.InMemoryGameRepository;
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameState;
+import com.frankint.battleship.domain.model.GameSummary;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ACTIVE games live in memory and are the source of truth while they are played;
+ * their moves reach Postgres in the background. Everything else goes straight to Postgres.
+ * <ul>
+ *   <li>A move on an ACTIVE game only updates memory and queues an encoded copy of the game.
+ *       Later moves replace the queued copy, so a flush writes each game at most once.</li>
+ *   <li>Every {@code battleship.write-behind.flush-interval-ms} the queue is written in one
+ *       transaction, with JDBC batching; that interval bounds how stale Postgres can be.</li>
+ *   <li>State changes (a game starting or finishing) are written synchronously.</li>
+ *   <li>While a game is in memory its version is checked there; the row only catches up.</li>
+ *   <li>The queue is flushed once more on shutdown.</li>
+ * </ul>
+ * Only for single-node deployments: another node would read the stale rows.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "battleship.persistence.mode", havingValue = "write-behind")
+public class WriteBehindGameRepository implements GameRepository {
+
+    private final InMemoryGameRepository memory;
+    private final PostgresGameRepository durable;
+    private final JpaGameRepository jpaRepository;
+    private final GameEntityMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // Game id -> latest unflushed state, encoded on the request thread
+    private final Map<String, GameEntity> pending = new ConcurrentHashMap<>();
+    // Held for the whole of a flush, so a synchronous write can wait out an in-flight one
+    private final Object flushLock = new Object();
+
+    public WriteBehindGameRepository(InMemoryGameRepository memory,
+                                     JpaGameRepository jpaRepository,
+                                     GameEntityMapper mapper,
+                                     TransactionTemplate transactionTemplate) {
+        this.memory = memory;
+        this.durable = new PostgresGameRepository(jpaRepository, mapper);
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Game save(Game game) {
+        String gameId = game.getId();
+        boolean active = game.getState() == GameState.ACTIVE;
+
+        // 1. Moves on a game held in memory: queue them. saveIfPresent checks and stores in one step,
+        //    so a game that has just left memory (finished by another request) falls through to 3.
+        if (active && memory.saveIfPresent(game)) {
+            pending.put(gameId, mapper.toEntity(game));
+            return game;
+        }
+
+        // 2. State changes: drop the queued copy (waiting for a flush that is writing it),
+        //    then write through. The row may be behind by several moves, so every board is rewritten.
+        if (!active && memory.saveIfPresent(game)) {
+            synchronized (flushLock) {
+                pending.remove(gameId);
+            }
+            durable.overwrite(game);
+            memory.delete(gameId);
+            return game;
+        }
+
+        // 3. Not in memory: a normal checked write, and keep the game in memory once it is being played.
+        //    A copy read from memory carries memory's version, which can equal the row's by chance; it only
+        //    gets here once the game has left memory by finishing, and must not reopen the finished row.
+        jpaRepository.findById(gameId)
+                .filter(row -> row.getState() == GameState.FINISHED && game.getState() != GameState.FINISHED)
+                .ifPresent(row -> {
+                    throw new ObjectOptimisticLockingFailureException(GameEntity.class, gameId);
+                });
+        durable.save(game);
+        if (game.getState() == GameState.ACTIVE) {
+            memory.hold(game);
+        }
+        return game;
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        Optional<Game> active = memory.findById(gameId);
+        return active.isPresent() ? active : durable.findById(gameId);
+    }
+
+    @Override
+    @Transactional
+    public void delete(String gameId) {
+        synchronized (flushLock) {
+            pending.remove(gameId);
+        }
+        memory.delete(gameId);
+        durable.delete(gameId);
+    }
+
+    @Override
+    public List<Game> findGamesByPlayer(String playerId) {
+        // Postgres decides visibility; games being played are served from memory
+        return durable.findGamesByPlayer(playerId).stream()
+                .map(game -> memory.findById(game.getId()).orElse(game))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void hideGame(String gameId, String playerId) {
+        durable.hideGame(gameId, playerId);
+    }
+
+    // State and winner changes are written synchronously, so the rows are current for a summary
+    @Override
+    public List<GameSummary> findGameSummaries(String playerId, GameSummary.Position after, int limit) {
+        return durable.findGameSummaries(playerId, after, limit);
+    }
+
+    /**
+     * Writes every queued game in one transaction. Returns the number of games written.
+     */
+    @Scheduled(fixedDelayString = "${battleship.write-behind.flush-interval-ms:250}")
+    public int flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) return 0;
+
+            Map<String, GameEntity> batch = new HashMap<>();
+            for (String gameId : pending.keySet()) {
+                GameEntity queued = pending.remove(gameId);
+                if (queued != null) batch.put(gameId, queued);
+            }
+
+            Set<String> gone = new HashSet<>(batch.keySet());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // One query for the rows; the changed columns go out as batched UPDATEs on commit
+                    for (GameEntity row : jpaRepository.findAllById(batch.keySet())) {
+                        copyInto(row, batch.get(row.getId()));
+                        gone.remove(row.getId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Requeue, unless a newer copy was queued in the meantime
+                batch.forEach(pending::putIfAbsent);
+                log.warn("Write-behind flush of {} games failed, will retry: {}", batch.size(), e.getMessage());
+                return 0;
+            }
+            // Rows removed under us (archived once both players hid the game): stop serving them
+            gone.forEach(memory::delete);
+            return batch.size() - gone.size();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) log.info("Flushed {} pending games on shutdown", flushed);
+    }
+
+    private static void copyInto(GameEntity row, GameEntity latest) {
+        row.setState(latest.getState());
+        row.setCurrentTurnPlayerId(latest.getCurrentTurnPlayerId());
+        row.setWinnerId(latest.getWinnerId());
+        copyBoard(row.getPlayer1(), latest.getPlayer1());
+        copyBoard(row.getPlayer2(), latest.getPlayer2());
+    }
+
+    // Hibernate compares byte[] by content, so a board that did not change is not written
+    private static void copyBoard(PlayerEntity row, PlayerEntity latest) {
+        row.setBoardData(latest.getBoardData());
+        row.setBoardJson(null);
+    }
+}
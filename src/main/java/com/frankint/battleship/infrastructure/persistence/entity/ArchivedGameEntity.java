@@ -0,0 +1,43 @@
+package com.frankint.battleship.infrastructure.persistence.entity;
+
+import com.frankint.battleship.domain.model.GameMode;
+import com.frankint.battleship.domain.model.GameState;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A game moved out of games/players by the GameArchiver: one row per game,
+ * with both boards in a single compressed blob (see ArchivedGameMapper).
+ */
+@Entity
+@Table(name = "archived_games")
+@Data
+public class ArchivedGameEntity {
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private GameState state;
+
+    @Enumerated(EnumType.STRING)
+    private GameMode mode;
+
+    private String player1UserId;
+    private String player2UserId;
+    private String currentTurnPlayerId;
+    private String winnerId;
+
+    private boolean p1Visible;
+    private boolean p2Visible;
+
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    private byte[] boards;
+}
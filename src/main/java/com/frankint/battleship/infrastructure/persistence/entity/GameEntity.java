@@ -1,11 +1,24 @@
 package com.frankint.battleship.infrastructure.persistence.entity;
 
+import com.frankint.battleship.domain.model.GameMode;
 import com.frankint.battleship.domain.model.GameState;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        // Game lists: a player's seats, filtered on the seat's flag, newest first
+        @Index(name = "idx_games_player1_visible", columnList = "player1_id, p1visible, created_at"),
+        @Index(name = "idx_games_player2_visible", columnList = "player2_id, p2visible, created_at"),
+        // The archiver's scan for long-finished games
+        @Index(name = "idx_games_state_finished", columnList = "state, finished_at")
+})
+@DynamicUpdate // UPDATEs only carry the columns that changed
 @Data
 public class GameEntity {
     @Id
@@ -14,6 +27,9 @@ public class GameEntity {
     @Enumerated(EnumType.STRING)
     private GameState state;
 
+    @Enumerated(EnumType.STRING)
+    private GameMode mode; // Null for games stored before game modes existed
+
     private String currentTurnPlayerId;
     private String winnerId;
 
@@ -28,4 +44,25 @@ public class GameEntity {
 
     @Column(nullable = false)
     private boolean p2Visible = true;
+
+    // Sort key for game lists; games stored before it existed sort as the oldest
+    @CreationTimestamp
+    @ColumnDefault("TIMESTAMP '1970-01-01 00:00:00'")
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Optimistic lock: every UPDATE is conditional on the version it was loaded at
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Touched on every save, so saves that only change a board still bump the version
+    private Instant updatedAt;
+
+    // Set when the game is first saved as FINISHED; null for games finished before it existed
+    private Instant finishedAt;
+
+    // Last game_events seq folded into this row; null for games never written by the event log
+    private Integer snapshotSeq;
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.frankint.battleship.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * One row of the append-only game log, see GameEventCodec for the payload layout.
+ */
+@Entity
+@Table(name = "game_events")
+@IdClass(GameEventEntity.Key.class)
+@Data
+public class GameEventEntity implements Persistable<GameEventEntity.Key> {
+
+    @Id
+    @Column(name = "game_id")
+    private String gameId;
+
+    @Id
+    private int seq; // 1-based position in the game's log
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false)
+    private String playerId;
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    private byte[] payload;
+
+    @Override
+    public Key getId() {
+        return new Key(gameId, seq);
+    }
+
+    // Events are only ever inserted, so skip the merge (and its SELECT) on save
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public enum Type {
+        JOINED, SHIPS_PLACED, SHOT_FIRED, SALVO_FIRED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String gameId;
+        private int seq;
+    }
+}
@@ -2,9 +2,11 @@ package com.frankint.battleship.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "players")
+@Table(name = "players", indexes = @Index(name = "idx_players_user_id", columnList = "user_id"))
+@DynamicUpdate // UPDATEs only carry the columns that changed
 @Data
 public class PlayerEntity {
 
@@ -14,7 +16,12 @@ public class PlayerEntity {
 
     private String userId;
 
+    // Legacy Jackson format, only present on rows not yet migrated to boardData
     @Lob
     @Column(columnDefinition = "TEXT")
     private String boardJson;
+
+    // Compact binary format, see BoardCodec
+    @Column(columnDefinition = "bytea")
+    private byte[] boardData;
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.frankint.battleship.infrastructure.persistence.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of typed records, written through memory-mapped windows.
+ * <pre>
+ * int      magic "BSJ1"
+ * int      format version (1)
+ * then per record:
+ *   int      length of type + payload (0 = end of journal)
+ *   int      CRC32C of type + payload
+ *   byte     type
+ *   bytes    payload
+ * </pre>
+ * A record's length is written last, so a record cut short by a crash reads as the end of the
+ * journal; the CRC catches anything else. Recovery stops at the first such record and cuts the
+ * file there, so the journal always ends with the last complete record.
+ * <p>
+ * Writes land in the page cache as soon as they are made, which a killed process cannot lose;
+ * {@link #force} makes them survive a power loss as well. Not thread-safe: callers serialize
+ * every method.
+ */
+@Slf4j
+public class GameJournal implements Closeable {
+
+    @FunctionalInterface
+    public interface RecordHandler {
+        // payload is only valid during the call
+        void accept(byte type, ByteBuffer payload);
+    }
+
+    @FunctionalInterface
+    public interface Writer {
+        void writeTo(GameJournal journal) throws IOException;
+    }
+
+    static final int MAGIC = 0x42534A31;
+    static final int FORMAT_VERSION = 1;
+    static final int FILE_HEADER = 8;
+    static final int RECORD_HEADER = 8;
+
+    private static final Pattern FILE_NAME = Pattern.compile("journal-(\\d+)\\.log");
+
+    private final Path dir;
+    private final long generation;
+    private final int regionSize;
+    private final FileChannel channel;
+    private Path path;
+    private MappedByteBuffer window; // Mapped from windowStart; appends go to its position
+    private long windowStart;
+
+    private GameJournal(Path dir, long generation, Path path, int regionSize) throws IOException {
+        this.dir = dir;
+        this.generation = generation;
+        this.path = path;
+        this.regionSize = regionSize;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Opens the newest journal in {@code dir}, or starts one, and hands every complete record to
+     * {@code replay} in the order it was written.
+     */
+    public static GameJournal open(Path dir, int regionSize, RecordHandler replay) throws IOException {
+        Files.createDirectories(dir);
+        long newest = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) newest = Math.max(newest, Long.parseLong(matcher.group(1)));
+            }
+        }
+        // Leftovers of a compaction: an unfinished new journal, or the old one it replaced
+        deleteAllBut(dir, newest);
+
+        if (newest == 0) {
+            GameJournal journal = new GameJournal(dir, 1, dir.resolve(fileName(1)), regionSize);
+            journal.start();
+            return journal;
+        }
+        GameJournal journal = new GameJournal(dir, newest, dir.resolve(fileName(newest)), regionSize);
+        journal.recover(replay);
+        return journal;
+    }
+
+    /**
+     * Appends one record. {@code payload} must not be empty.
+     */
+    public void append(byte type, byte[] payload) throws IOException {
+        int length = 1 + payload.length;
+        if (RECORD_HEADER + length > regionSize) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes is larger than a region");
+        }
+        if (window.remaining() < RECORD_HEADER + length) {
+            map(size());
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+
+        int at = window.position();
+        window.putInt(at + 4, (int) crc.getValue());
+        window.put(at + 8, type);
+        window.put(at + 9, payload);
+        // 1. The length goes in last: until then the record reads as the end of the journal
+        window.putInt(at, length);
+        window.position(at + RECORD_HEADER + length);
+    }
+
+    /**
+     * Bytes written so far, records and header.
+     */
+    public long size() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * Flushes everything appended so far to the disk.
+     */
+    public void force() throws IOException {
+        window.force();
+        channel.force(true);
+    }
+
+    /**
+     * Writes a new journal holding only what {@code writer} appends to it, then swaps it in for this one,
+     * which is closed and deleted. A crash before the swap leaves this journal in place.
+     */
+    public GameJournal compact(Writer writer) throws IOException {
+        long next = generation + 1;
+        Path temp = dir.resolve(fileName(next) + ".tmp");
+        Files.deleteIfExists(temp);
+
+        GameJournal compacted = new GameJournal(dir, next, temp, regionSize);
+        try {
+            compacted.start();
+            writer.writeTo(compacted);
+            compacted.force();
+            compacted.path = Files.move(temp, dir.resolve(fileName(next)), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            compacted.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        close();
+        Files.deleteIfExists(path);
+        return compacted;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void start() throws IOException {
+        map(0);
+        window.putInt(MAGIC);
+        window.putInt(FORMAT_VERSION);
+    }
+
+    private void recover(RecordHandler replay) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        channel.read(header, 0);
+        if (fileSize < FILE_HEADER || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a game journal (or an unsupported version): " + path);
+        }
+
+        long offset = FILE_HEADER;
+        long records = 0;
+        MappedByteBuffer in = null;
+        long inStart = 0;
+        while (offset + RECORD_HEADER <= fileSize) {
+            if (in == null || offset + RECORD_HEADER > inStart + in.capacity()) {
+                inStart = offset;
+                in = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(regionSize, fileSize - offset));
+            }
+            int length = in.getInt((int) (offset - inStart));
+            if (length == 0) break;
+            if (length < 0 || offset + RECORD_HEADER + length > fileSize) {
+                log.warn("Dropping a torn record at offset {} of {}", offset, path);
+                break;
+            }
+            if (offset + RECORD_HEADER + length > inStart + in.capacity()) {
+                inStart = offset;
+                in = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(Math.max(regionSize, RECORD_HEADER + length), fileSize - offset));
+            }
+
+            int at = (int) (offset - inStart);
+            ByteBuffer record = in.slice(at + RECORD_HEADER, length);
+            CRC32C crc = new CRC32C();
+            crc.update(record);
+            if ((int) crc.getValue() != in.getInt(at + 4)) {
+                log.warn("Dropping a torn record at offset {} of {}", offset, path);
+                break;
+            }
+            replay.accept(record.get(0), record.position(1));
+            offset += RECORD_HEADER + length;
+            records++;
+        }
+
+        // 2. Cut off the torn record and the unused rest of the last region, then append from there
+        channel.truncate(offset);
+        map(offset);
+        log.info("Replayed {} records ({} bytes) from {}", records, offset, path);
+    }
+
+    // Maps the next region from offset, after flushing the one it replaces
+    private void map(long offset) throws IOException {
+        if (window != null) window.force();
+        window = channel.map(FileChannel.MapMode.READ_WRITE, offset, regionSize);
+        windowStart = offset;
+    }
+
+    private static void deleteAllBut(Path dir, long generation) throws IOException {
+        String keep = fileName(generation);
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> stale = files
+                    .filter(file -> file.getFileName().toString().startsWith("journal-"))
+                    .filter(file -> !file.getFileName().toString().equals(keep))
+                    .toList();
+            for (Path file : stale) {
+                log.info("Deleting stale journal file {}", file);
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static String fileName(long generation) {
+        return String.format("journal-%08d.log", generation);
+    }
+}
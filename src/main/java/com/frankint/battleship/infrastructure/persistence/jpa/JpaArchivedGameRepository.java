@@ -0,0 +1,7 @@
+package com.frankint.battleship.infrastructure.persistence.jpa;
+
+import com.frankint.battleship.infrastructure.persistence.entity.ArchivedGameEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaArchivedGameRepository extends JpaRepository<ArchivedGameEntity, String> {
+}
@@ -0,0 +1,29 @@
+package com.frankint.battleship.infrastructure.persistence.jpa;
+
+import com.frankint.battleship.infrastructure.persistence.entity.GameEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface JpaGameEventRepository extends JpaRepository<GameEventEntity, GameEventEntity.Key> {
+
+    // Index-only lookup on the (game_id, seq) primary key
+    @Query("SELECT MAX(e.seq) FROM GameEventEntity e WHERE e.gameId = :gameId")
+    Integer findLastSeq(@Param("gameId") String gameId);
+
+    List<GameEventEntity> findByGameIdAndSeqGreaterThanOrderBySeqAsc(String gameId, int seq);
+
+    // The events of each game that are newer than its snapshot in the games table
+    @Query("SELECT e FROM GameEventEntity e, GameEntity g " +
+            "WHERE e.gameId = g.id AND g.id IN :gameIds AND e.seq > COALESCE(g.snapshotSeq, 0) " +
+            "ORDER BY e.gameId, e.seq")
+    List<GameEventEntity> findTails(@Param("gameIds") Collection<String> gameIds);
+
+    @Modifying
+    @Query("DELETE FROM GameEventEntity e WHERE e.gameId = :gameId")
+    void deleteByGameId(@Param("gameId") String gameId);
+}
@@ -0,0 +1,20 @@
+package com.frankint.battleship.infrastructure.persistence.jpa;
+
+import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface JpaPlayerRepository extends JpaRepository<PlayerEntity, String> {
+    // Rows still stored in the legacy boardJson format, in id order so a run can page past the ones it skipped
+    List<PlayerEntity> findByBoardDataIsNullAndBoardJsonIsNotNullAndIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    // Only while the row is still legacy: a game saved since it was read has written boardData itself
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PlayerEntity p SET p.boardData = :boardData, p.boardJson = NULL WHERE p.id = :id AND p.boardData IS NULL")
+    int convertLegacyBoard(@Param("id") String id, @Param("boardData") byte[] boardData);
+}
@@ -0,0 +1,125 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameMode;
+import com.frankint.battleship.domain.model.Player;
+import com.frankint.battleship.infrastructure.persistence.entity.ArchivedGameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Converts between live game rows and archive rows.
+ * <p>
+ * Boards blob, before deflating: per seat a varint length and that many bytes of
+ * BoardCodec output; a length of 0 means the seat is empty.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchivedGameMapper {
+
+    private final GameEntityMapper gameEntityMapper;
+    private final BoardCodec boardCodec;
+
+    public ArchivedGameEntity toArchive(GameEntity game, Instant archivedAt) {
+        ArchivedGameEntity archive = new ArchivedGameEntity();
+        archive.setId(game.getId());
+        archive.setState(game.getState());
+        archive.setMode(game.getMode() != null ? game.getMode() : GameMode.CLASSIC);
+        archive.setPlayer1UserId(game.getPlayer1().getUserId());
+        archive.setPlayer2UserId(game.getPlayer2() != null ? game.getPlayer2().getUserId() : null);
+        archive.setCurrentTurnPlayerId(game.getCurrentTurnPlayerId());
+        archive.setWinnerId(game.getWinnerId());
+        archive.setP1Visible(game.isP1Visible());
+        archive.setP2Visible(game.isP2Visible());
+        archive.setCreatedAt(game.getCreatedAt());
+        archive.setFinishedAt(game.getFinishedAt());
+        archive.setArchivedAt(archivedAt);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBoard(out, game.getPlayer1());
+        writeBoard(out, game.getPlayer2());
+        archive.setBoards(deflate(out.toByteArray()));
+        return archive;
+    }
+
+    public Game toDomain(ArchivedGameEntity archive) {
+        ByteBuffer in = ByteBuffer.wrap(inflate(archive.getBoards()));
+        byte[] board1 = readBoard(in);
+        byte[] board2 = readBoard(in);
+
+        return Game.reconstitute(
+                archive.getId(),
+                new Player(archive.getPlayer1UserId(), boardCodec.decode(board1)),
+                board2 != null ? new Player(archive.getPlayer2UserId(), boardCodec.decode(board2)) : null,
+                archive.getCurrentTurnPlayerId(),
+                archive.getState(),
+                archive.getWinnerId(),
+                archive.getMode()
+        );
+    }
+
+    // Legacy boardJson rows are converted on the way out
+    private void writeBoard(ByteArrayOutputStream out, PlayerEntity player) {
+        if (player == null) {
+            BoardCodec.writeVarint(out, 0);
+            return;
+        }
+        byte[] data = player.getBoardData() != null
+                ? player.getBoardData()
+                : boardCodec.encode(gameEntityMapper.toBoard(player));
+        BoardCodec.writeVarint(out, data.length);
+        out.writeBytes(data);
+    }
+
+    private static byte[] readBoard(ByteBuffer in) {
+        int length = BoardCodec.readVarint(in);
+        if (length == 0) return null;
+        byte[] data = new byte[length];
+        in.get(data);
+        return data;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+            byte[] buffer = new byte[256];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] buffer = new byte[256];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) throw new IllegalStateException("Truncated archive data");
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.frankint.battleship.domain.model.*;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Compact binary format for a Board, stored in players.board_data.
+ * <pre>
+ * byte     format version (1)
+ * varint   width, height
+ * varint   ship count, then per ship:
+ *   byte     ShipType ordinal + 1, or 0 followed by varint length + UTF-8 id for custom ships
+ *   varint   size
+ *   varint   start cell (y * width + x)
+ *   byte     0 = horizontal, 1 = vertical
+ * bytes    shot bitset, one bit per cell (row-major, LSB first)
+ * </pre>
+ * Whether a shot was a hit is implied by the ship table, and ship health/sunk state
+ * are rebuilt by replaying the shots, so nothing is stored twice.
+ * Shots come back in row-major order rather than firing order.
+ */
+@Component
+public class BoardCodec {
+
+    static final byte VERSION_1 = 1;
+
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+
+    public byte[] encode(Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + board.getShips().size() * 8 + width * height / 8);
+
+        out.write(VERSION_1);
+        writeVarint(out, width);
+        writeVarint(out, height);
+
+        List<Ship> ships = board.getShips();
+        writeVarint(out, ships.size());
+        for (Ship ship : ships) {
+            writeShipId(out, ship.getId());
+            writeVarint(out, ship.getSize());
+            List<Coordinate> coords = ship.getCoordinates();
+            Coordinate start = coords.get(0);
+            writeVarint(out, start.y() * width + start.x());
+            boolean vertical = coords.size() > 1 && coords.get(1).x() == start.x();
+            out.write(vertical ? 1 : 0);
+        }
+
+        byte[] shots = new byte[(width * height + 7) >>> 3];
+        markShots(shots, board.getHitShots(), width);
+        markShots(shots, board.getMissedShots(), width);
+        out.writeBytes(shots);
+
+        return out.toByteArray();
+    }
+
+    public Board decode(byte[] data) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data);
+            byte version = in.get();
+            if (version != VERSION_1) {
+                throw new IllegalArgumentException("Unsupported board format version " + version);
+            }
+            int width = readVarint(in);
+            int height = readVarint(in);
+            Board board = new Board(width, height);
+
+            int shipCount = readVarint(in);
+            for (int i = 0; i < shipCount; i++) {
+                String id = readShipId(in);
+                int size = readVarint(in);
+                int start = readVarint(in);
+                Orientation orientation = in.get() == 1 ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+                board.placeShip(id, size, Coordinate.of(start % width, start / width), orientation);
+            }
+
+            // Replaying the shots restores hits, misses, ship health and sunk state
+            byte[] shots = new byte[(width * height + 7) >>> 3];
+            in.get(shots);
+            for (int cell = 0; cell < width * height; cell++) {
+                if ((shots[cell >>> 3] & (1 << (cell & 7))) != 0) {
+                    board.fireShot(Coordinate.of(cell % width, cell / width));
+                }
+            }
+            return board;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated board data", e);
+        }
+    }
+
+    private static void markShots(byte[] shots, List<Coordinate> coords, int width) {
+        for (Coordinate c : coords) {
+            int cell = c.y() * width + c.x();
+            shots[cell >>> 3] |= (byte) (1 << (cell & 7));
+        }
+    }
+
+    private static void writeShipId(ByteArrayOutputStream out, String id) {
+        for (ShipType type : SHIP_TYPES) {
+            if (type.getId().equals(id)) {
+                out.write(type.ordinal() + 1);
+                return;
+            }
+        }
+        out.write(0);
+        byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length);
+        out.writeBytes(utf8);
+    }
+
+    private static String readShipId(ByteBuffer in) {
+        int tag = in.get() & 0xFF;
+        if (tag > 0) return SHIP_TYPES[tag - 1].getId();
+        byte[] utf8 = new byte[readVarint(in)];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint in board data");
+    }
+}
@@ -4,24 +4,33 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.frankint.battleship.domain.model.Board;
 import com.frankint.battleship.domain.model.Game;
+import com.frankint.battleship.domain.model.GameMode;
+import com.frankint.battleship.domain.model.GameState;
 import com.frankint.battleship.domain.model.Player;
 import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
 import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class GameEntityMapper {
 
     private final ObjectMapper objectMapper;
+    private final BoardCodec boardCodec;
 
     public GameEntity toEntity(Game game) {
         GameEntity entity = new GameEntity();
         entity.setId(game.getId());
         entity.setState(game.getState());
+        entity.setMode(game.getMode());
         entity.setCurrentTurnPlayerId(game.getCurrentTurnPlayerId());
         entity.setWinnerId(game.getWinnerId());
+        entity.setUpdatedAt(Instant.now());
+        stampFinished(entity);
         entity.setPlayer1(toPlayerEntity(game.getPlayer1()));
         if (game.getPlayer2() != null) {
             entity.setPlayer2(toPlayerEntity(game.getPlayer2()));
@@ -29,15 +38,46 @@ public class GameEntityMapper {
         return entity;
     }
 
+    /**
+     * Copies the game onto an entity loaded earlier in the transaction. Only the boards of
+     * {@code changedBoards} are re-encoded; everything else is left as loaded, so Hibernate's
+     * dirty checking skips the unchanged rows and columns.
+     */
+    public void updateEntity(GameEntity entity, Game game, Set<String> changedBoards) {
+        entity.setState(game.getState());
+        entity.setMode(game.getMode());
+        entity.setCurrentTurnPlayerId(game.getCurrentTurnPlayerId());
+        entity.setWinnerId(game.getWinnerId());
+        entity.setUpdatedAt(Instant.now());
+        stampFinished(entity);
+
+        updatePlayerEntity(entity.getPlayer1(), game.getPlayer1(), changedBoards);
+        if (entity.getPlayer2() == null && game.getPlayer2() != null) {
+            entity.setPlayer2(toPlayerEntity(game.getPlayer2()));
+        } else if (game.getPlayer2() != null) {
+            updatePlayerEntity(entity.getPlayer2(), game.getPlayer2(), changedBoards);
+        }
+    }
+
     public Game toDomain(GameEntity entity) {
-        return Game.reconstitute(
+        Game game = Game.reconstitute(
                 entity.getId(),
                 toPlayerDomain(entity.getPlayer1()),
                 entity.getPlayer2() != null ? toPlayerDomain(entity.getPlayer2()) : null,
                 entity.getCurrentTurnPlayerId(),
                 entity.getState(),
-                entity.getWinnerId()
+                entity.getWinnerId(),
+                entity.getMode() != null ? entity.getMode() : GameMode.CLASSIC
         );
+        game.setVersion(entity.getVersion());
+        return game;
+    }
+
+    // The archiver measures a finished game's age from here
+    private static void stampFinished(GameEntity entity) {
+        if (entity.getState() == GameState.FINISHED && entity.getFinishedAt() == null) {
+            entity.setFinishedAt(Instant.now());
+        }
     }
 
     private PlayerEntity toPlayerEntity(Player player) {
@@ -45,20 +85,31 @@ public class GameEntityMapper {
         // We store the domain ID (username) in the new userId field
         entity.setUserId(player.getId());
 
-        try {
-            entity.setBoardJson(objectMapper.writeValueAsString(player.getBoard()));
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing board", e);
-        }
+        entity.setBoardData(boardCodec.encode(player.getBoard()));
         return entity;
     }
 
+    private void updatePlayerEntity(PlayerEntity entity, Player player, Set<String> changedBoards) {
+        if (changedBoards.contains(player.getId())) {
+            entity.setBoardData(boardCodec.encode(player.getBoard()));
+            entity.setBoardJson(null);
+        }
+    }
+
     private Player toPlayerDomain(PlayerEntity entity) {
-        try {
-            Board board = objectMapper.readValue(entity.getBoardJson(), Board.class);
-            // When loading back, we use the userId (username) as the Domain ID
-            return new Player(entity.getUserId(), board);
+        // When loading back, we use the userId (username) as the Domain ID
+        return new Player(entity.getUserId(), toBoard(entity));
+    }
 
+    /**
+     * Reads either storage format: binary boardData, or boardJson for rows written before it existed.
+     */
+    public Board toBoard(PlayerEntity entity) {
+        if (entity.getBoardData() != null) {
+            return boardCodec.decode(entity.getBoardData());
+        }
+        try {
+            return objectMapper.readValue(entity.getBoardJson(), Board.class);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error deserializing board", e);
         }
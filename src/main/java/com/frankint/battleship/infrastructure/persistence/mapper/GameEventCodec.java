@@ -0,0 +1,106 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEventEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec.readVarint;
+import static com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec.writeVarint;
+
+/**
+ * Maps GameEvents to game_events rows. Payloads use the same varints as BoardCodec:
+ * <pre>
+ * JOINED        varint board width, height
+ * SHIPS_PLACED  varint count, then per ship: byte ShipType ordinal, varint x, y, byte 0/1 = horizontal/vertical
+ * SHOT_FIRED    varint x, y
+ * SALVO_FIRED   varint count, then varint x, y per shot
+ * </pre>
+ */
+@Component
+public class GameEventCodec {
+
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+
+    public GameEventEntity toEntity(String gameId, int seq, GameEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        GameEventEntity.Type type = switch (event) {
+            case GameEvent.PlayerJoined e -> {
+                writeVarint(out, e.boardWidth());
+                writeVarint(out, e.boardHeight());
+                yield GameEventEntity.Type.JOINED;
+            }
+            case GameEvent.ShipsPlaced e -> {
+                writeVarint(out, e.placements().size());
+                for (ShipPlacement p : e.placements()) {
+                    out.write(p.type().ordinal());
+                    writeCoordinate(out, p.start());
+                    out.write(p.orientation() == Orientation.VERTICAL ? 1 : 0);
+                }
+                yield GameEventEntity.Type.SHIPS_PLACED;
+            }
+            case GameEvent.ShotFired e -> {
+                writeCoordinate(out, e.target());
+                yield GameEventEntity.Type.SHOT_FIRED;
+            }
+            case GameEvent.SalvoFired e -> {
+                writeVarint(out, e.targets().size());
+                e.targets().forEach(c -> writeCoordinate(out, c));
+                yield GameEventEntity.Type.SALVO_FIRED;
+            }
+        };
+
+        GameEventEntity entity = new GameEventEntity();
+        entity.setGameId(gameId);
+        entity.setSeq(seq);
+        entity.setType(type);
+        entity.setPlayerId(event.playerId());
+        entity.setPayload(out.toByteArray());
+        return entity;
+    }
+
+    public GameEvent toDomain(GameEventEntity entity) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(entity.getPayload());
+            String playerId = entity.getPlayerId();
+            return switch (entity.getType()) {
+                case JOINED -> new GameEvent.PlayerJoined(playerId, readVarint(in), readVarint(in));
+                case SHIPS_PLACED -> {
+                    int count = readVarint(in);
+                    List<ShipPlacement> placements = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        ShipType type = SHIP_TYPES[in.get()];
+                        Coordinate start = readCoordinate(in);
+                        placements.add(new ShipPlacement(type, start,
+                                in.get() == 1 ? Orientation.VERTICAL : Orientation.HORIZONTAL));
+                    }
+                    yield new GameEvent.ShipsPlaced(playerId, placements);
+                }
+                case SHOT_FIRED -> new GameEvent.ShotFired(playerId, readCoordinate(in));
+                case SALVO_FIRED -> {
+                    int count = readVarint(in);
+                    List<Coordinate> targets = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) targets.add(readCoordinate(in));
+                    yield new GameEvent.SalvoFired(playerId, targets);
+                }
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated payload for event " + entity.getSeq() + " of game " + entity.getGameId(), e);
+        }
+    }
+
+    private static void writeCoordinate(ByteArrayOutputStream out, Coordinate c) {
+        writeVarint(out, c.x());
+        writeVarint(out, c.y());
+    }
+
+    private static Coordinate readCoordinate(ByteBuffer in) {
+        int x = readVarint(in);
+        return Coordinate.of(x, readVarint(in));
+    }
+}
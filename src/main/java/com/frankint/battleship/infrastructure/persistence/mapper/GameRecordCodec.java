@@ -0,0 +1,187 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.frankint.battleship.domain.model.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec.readVarint;
+import static com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec.writeVarint;
+
+/**
+ * A whole stored game as one self-contained record, for the game journal.
+ * <pre>
+ * byte     flags: 1 = player 1 visible, 2 = player 2 visible, 4 = player 2 present
+ * string   game id (varint length + UTF-8)
+ * long     version
+ * byte     GameState ordinal, GameMode ordinal
+ * string   current turn player id, winner id (varint length + 1, 0 = null)
+ * long     createdAt epoch seconds, then varint nanos
+ * string   player 1 id, then varint length + BoardCodec board
+ * string   player 2 id, then varint length + BoardCodec board (if present)
+ * </pre>
+ * Everything but the boards is the {@link Header}, which can be read without decoding them.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameRecordCodec {
+
+    /**
+     * What a record says about its game besides the boards.
+     */
+    public record Header(GameSummary summary, long version, boolean p1Visible, boolean p2Visible) {}
+
+    private static final int P1_VISIBLE = 1;
+    private static final int P2_VISIBLE = 2;
+    private static final int HAS_PLAYER2 = 4;
+
+    private static final GameState[] STATES = GameState.values();
+    private static final GameMode[] MODES = GameMode.values();
+
+    private final BoardCodec boardCodec;
+
+    public byte[] encode(Game game, long version, Instant createdAt, boolean p1Visible, boolean p2Visible) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(visibility(p1Visible, p2Visible) | (game.getPlayer2() != null ? HAS_PLAYER2 : 0));
+        writeString(out, game.getId());
+        writeLong(out, version);
+        out.write(game.getState().ordinal());
+        out.write(game.getMode().ordinal());
+        writeNullableString(out, game.getCurrentTurnPlayerId());
+        writeNullableString(out, game.getWinnerId());
+        writeLong(out, createdAt.getEpochSecond());
+        writeVarint(out, createdAt.getNano());
+        writePlayer(out, game.getPlayer1());
+        if (game.getPlayer2() != null) writePlayer(out, game.getPlayer2());
+        return out.toByteArray();
+    }
+
+    /**
+     * The game in {@code record}, with the record's version.
+     */
+    public Game decode(byte[] record) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(record);
+            int flags = in.get();
+            String id = readString(in);
+            long version = in.getLong();
+            GameState state = STATES[in.get()];
+            GameMode mode = MODES[in.get()];
+            String turn = readNullableString(in);
+            String winner = readNullableString(in);
+            in.getLong();
+            readVarint(in);
+            Player player1 = readPlayer(in);
+            Player player2 = (flags & HAS_PLAYER2) != 0 ? readPlayer(in) : null;
+
+            Game game = Game.reconstitute(id, player1, player2, turn, state, winner, mode);
+            game.setVersion(version);
+            return game;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed game record", e);
+        }
+    }
+
+    public Header decodeHeader(byte[] record) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(record);
+            int flags = in.get();
+            String id = readString(in);
+            long version = in.getLong();
+            GameState state = STATES[in.get()];
+            GameMode mode = MODES[in.get()];
+            skipNullableString(in); // Current turn: not in a summary
+            String winner = readNullableString(in);
+            Instant createdAt = Instant.ofEpochSecond(in.getLong(), readVarint(in));
+            String player1 = readString(in);
+            String player2 = null;
+            if ((flags & HAS_PLAYER2) != 0) {
+                int boardLength = readVarint(in);
+                in.position(in.position() + boardLength);
+                player2 = readString(in);
+            }
+
+            GameSummary summary = new GameSummary(id, state, mode, player1, player2, winner, createdAt);
+            return new Header(summary, version, (flags & P1_VISIBLE) != 0, (flags & P2_VISIBLE) != 0);
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed game record", e);
+        }
+    }
+
+    public boolean hasPlayer2(byte[] record) {
+        return (record[0] & HAS_PLAYER2) != 0;
+    }
+
+    /**
+     * A copy of {@code record} with the seats' visibility replaced.
+     */
+    public byte[] withVisibility(byte[] record, boolean p1Visible, boolean p2Visible) {
+        byte[] copy = record.clone();
+        copy[0] = (byte) ((copy[0] & HAS_PLAYER2) | visibility(p1Visible, p2Visible));
+        return copy;
+    }
+
+    private static int visibility(boolean p1Visible, boolean p2Visible) {
+        return (p1Visible ? P1_VISIBLE : 0) | (p2Visible ? P2_VISIBLE : 0);
+    }
+
+    private void writePlayer(ByteArrayOutputStream out, Player player) {
+        writeString(out, player.getId());
+        byte[] board = boardCodec.encode(player.getBoard());
+        writeVarint(out, board.length);
+        out.writeBytes(board);
+    }
+
+    private Player readPlayer(ByteBuffer in) {
+        String id = readString(in);
+        byte[] board = new byte[readVarint(in)];
+        in.get(board);
+        return new Player(id, boardCodec.decode(board));
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length);
+        out.writeBytes(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] utf8 = new byte[readVarint(in)];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length + 1);
+        out.writeBytes(utf8);
+    }
+
+    private static void skipNullableString(ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        if (length > 0) in.position(in.position() + length);
+    }
+
+    private static String readNullableString(ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        if (length < 0) return null;
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
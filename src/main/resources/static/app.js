@@ -3,6 +3,7 @@ const HOST = window.location.origin;
 const API_URL = `${HOST}/api`;
 const AUTH_URL = `${HOST}/auth`;
 const WS_URL = `${HOST}/ws`;
+const HISTORY_URL = `${API_URL}/games/summaries?limit=20`;
 
 let stompClient = null;
 let currentUser = null;
@@ -15,6 +16,7 @@ let lastKnownState = null;
 let gameSub = null;  // Stores the game state subscription
 let errorSub = null; // Stores the error subscription
 let lastSunkCount = 0;
+let reconnectDelay = 1000; // Doubles after every failed attempt, up to 30s
 
 // ================= INITIALIZATION =================
 // Run this when the script loads to check for existing session
@@ -42,12 +44,12 @@ document.addEventListener("DOMContentLoaded", () => {
         currentUser = savedUser;
         authHeader = `Basic ${savedPass}`;
         // Validate token
-        fetch(`${API_URL}/games`, { headers: { 'Authorization': authHeader } })
+        fetch(HISTORY_URL, { headers: { 'Authorization': authHeader } })
             .then(response => {
                 if (response.ok) {
                     document.getElementById('display-user').innerText = currentUser;
                     showScreen('lobby-screen');
-                    response.json().then(loadHistory);
+                    response.json().then(page => loadHistory(page));
                     loadFriends();
                     connectGlobalSocket();
                 } else {
@@ -117,7 +119,7 @@ async function handleAuth() {
         const header = `Basic ${token}`;
 
         // 3. Verify Credentials by fetching data
-        const loginResponse = await fetch(`${API_URL}/games`, {
+        const loginResponse = await fetch(HISTORY_URL, {
             headers: { 'Authorization': header }
         });
 
@@ -165,6 +167,15 @@ async function createGame() {
     enterGame(game);
 }
 
+async function createAiGame() {
+    const response = await fetch(`${API_URL}/games/ai`, {
+        method: 'POST',
+        headers: { 'Authorization': authHeader }
+    });
+    const game = await response.json();
+    enterGame(game);
+}
+
 async function joinGame(id) {
     const gameId = id || document.getElementById('gameIdInput').value;
     if(!gameId) return alert("Enter a game ID");
@@ -177,21 +188,30 @@ async function joinGame(id) {
     else alert("Could not join game (Full or Finished)");
 }
 
-function loadHistory(games) {
+function refreshHistory() {
+    fetch(HISTORY_URL, { headers: { 'Authorization': authHeader } })
+        .then(r => r.json())
+        .then(page => loadHistory(page));
+}
+
+// Renders one page of summaries; later pages are appended below a "Load more" button
+function loadHistory(page, append = false) {
     const list = document.getElementById('games-list');
-    list.innerHTML = '';
+    if (!append) list.innerHTML = '';
+    const more = document.getElementById('games-more');
+    if (more) more.remove();
 
-    if(games.length === 0) {
+    if(!append && page.games.length === 0) {
         list.innerHTML = '<li>No games played yet.</li>';
         return;
     }
 
-    games.forEach(g => {
+    page.games.forEach(g => {
         const li = document.createElement('li');
 
         // Game Info
         const info = document.createElement('span');
-        info.innerHTML = `Vs: <strong>${getOpponentName(g)}</strong> <small>(${g.state})</small>`;
+        info.innerHTML = `Vs: <strong>${g.opponentId || "Waiting..."}</strong> <small>(${g.state})</small>`;
 
         // Action Container
         const actions = document.createElement('div');
@@ -223,6 +243,20 @@ function loadHistory(games) {
         li.appendChild(actions);
         list.appendChild(li);
     });
+
+    if (page.nextCursor) {
+        const li = document.createElement('li');
+        li.id = 'games-more';
+        const btnMore = document.createElement('button');
+        btnMore.innerText = "Load more";
+        btnMore.className = "small secondary";
+        btnMore.onclick = () => fetch(`${HISTORY_URL}&cursor=${encodeURIComponent(page.nextCursor)}`,
+                { headers: { 'Authorization': authHeader } })
+            .then(r => r.json())
+            .then(next => loadHistory(next, true));
+        li.appendChild(btnMore);
+        list.appendChild(li);
+    }
 }
 
 async function hideGame(gameId) {
@@ -235,21 +269,12 @@ async function hideGame(gameId) {
 
     if (response.ok) {
         // Refresh the list
-        fetch(`${API_URL}/games`, { headers: { 'Authorization': authHeader } })
-            .then(r => r.json())
-            .then(loadHistory);
+        refreshHistory();
     } else {
         alert("Failed to hide game.");
     }
 }
 
-function getOpponentName(game) {
-    if (game.self.playerId === currentUser) {
-        return game.opponent ? game.opponent.playerId : "Waiting...";
-    }
-    return game.self.playerId;
-}
-
 // ================= GAME LOGIC =================
 function enterGame(game) {
     currentGameId = game.gameId;
@@ -270,9 +295,7 @@ function leaveGame() {
     currentGameId = null;
 
     // Refresh data
-    fetch(`${API_URL}/games`, { headers: { 'Authorization': authHeader } })
-        .then(r => r.json())
-        .then(loadHistory);
+    refreshHistory();
 
     showScreen('lobby-screen');
 }
@@ -296,12 +319,7 @@ function connectWebSocket() {
 
         // IF inside a game, subscribe to game updates
         if (currentGameId) {
-            stompClient.subscribe(`/topic/game/${currentGameId}/${currentUser}`, function (msg) {
-                renderGame(JSON.parse(msg.body));
-            });
-            stompClient.subscribe(`/topic/game/${currentGameId}/${currentUser}/error`, function (msg) {
-                showError(JSON.parse(msg.body).message);
-            });
+            subscribeToGame(currentGameId);
         }
     });
 }
@@ -347,9 +365,12 @@ function renderGame(state) {
     const setupControls = document.getElementById('setup-controls');
     const shipYard = document.getElementById('ship-yard');
     const actions = document.getElementById('placement-actions');
+    const autoPlaceBtn = document.getElementById('auto-place-btn');
 
     if (state.state === 'SETUP' || state.state === 'WAITING_FOR_PLAYER') {
         setupControls.classList.remove('hidden');
+        // Auto-place fills in whatever is left, so hide it once the fleet is complete
+        autoPlaceBtn.classList.toggle('hidden', !!pendingPlacement || state.self.ships.length >= ALL_SHIPS.length);
         if (pendingPlacement) {
             shipYard.classList.add('hidden');
             actions.classList.remove('hidden');
@@ -628,6 +649,23 @@ function confirmPlacement() {
     });
 }
 
+function autoPlaceFleet() {
+    fetch(`${API_URL}/games/${currentGameId}/fleet/auto`, {
+        method: 'POST',
+        headers: { 'Authorization': authHeader }
+    }).then(async r => {
+        if (r.ok) {
+            pendingPlacement = null;
+            selectedShipType = null;
+            renderGame(await r.json());
+            clearPreviews();
+        } else {
+            const err = await r.json().catch(() => ({}));
+            showError(err.message || "Auto-placement failed");
+        }
+    });
+}
+
 function cancelPlacement() {
     pendingPlacement = null;
     renderGame(lastKnownState);
@@ -660,7 +698,7 @@ async function handleGuestLogin() {
 
         document.getElementById('display-user').innerText = currentUser;
         showScreen('lobby-screen');
-        loadHistory([]); // New guest has no history
+        loadHistory({ games: [], nextCursor: null }); // New guest has no history
         loadFriends();
         connectGlobalSocket();
         msg.innerText = "";
@@ -800,6 +838,7 @@ function connectGlobalSocket() {
 
     stompClient.connect(headers, function () { // Pass 'headers' as first arg
         console.log("Connected with Auth!");
+        reconnectDelay = 1000;
 
         // 1. ALWAYS Subscribe to Personal Notifications (Invites)
         stompClient.subscribe(`/topic/user/${currentUser}/notifications`, function (msg) {
@@ -818,6 +857,13 @@ function connectGlobalSocket() {
         if (currentGameId) {
             subscribeToGame(currentGameId);
         }
+    }, function () {
+        // Lost the connection: come back on our own, at a random point in the window,
+        // so a blip does not bring every client back at the same moment
+        if (!currentUser) return;
+        const delay = reconnectDelay / 2 + Math.random() * reconnectDelay / 2;
+        reconnectDelay = Math.min(reconnectDelay * 2, 30000);
+        setTimeout(connectGlobalSocket, delay);
     });
 }
 
@@ -836,12 +882,59 @@ function subscribeToGame(gameId) {
 
     // 2. Subscribe and Store the reference
     gameSub = stompClient.subscribe(`/topic/game/${gameId}/${currentUser}`, function (msg) {
-        renderGame(JSON.parse(msg.body));
+        handleGameUpdate(JSON.parse(msg.body));
     });
 
     errorSub = stompClient.subscribe(`/topic/game/${gameId}/${currentUser}/error`, function (msg) {
         showError(JSON.parse(msg.body).message);
     });
+
+    // 3. Catch up on anything sent before the subscription was in place (or while we were disconnected)
+    requestSync();
+}
+
+// With the last seq we have, the server only resends the moves we missed; otherwise it sends a snapshot
+function requestSync() {
+    if (!stompClient || !stompClient.connected || !currentGameId) return;
+    const headers = { "playerId": currentUser };
+    if (lastKnownState && lastKnownState.gameId === currentGameId) headers.lastSeq = lastKnownState.seq;
+    stompClient.send(`/app/game/${currentGameId}/sync`, headers, "");
+}
+
+// The game topic carries snapshots (GameDTO) and, for every move, a MoveEventDTO to apply on top
+function handleGameUpdate(update) {
+    if (update.shots) applyMoveEvent(update);
+    else renderGame(update);
+}
+
+function applyMoveEvent(event) {
+    const state = lastKnownState;
+    if (!state || state.gameId !== event.gameId) return requestSync();
+    if (event.seq <= state.seq) return; // Already in the snapshot
+    // seq counts shots: anything but the next move means we missed one
+    if (event.seq - event.shots.length !== state.seq) return requestSync();
+
+    const mine = event.playerId === currentUser;
+    const target = mine ? state.opponent : state.self;
+    event.shots.forEach(shot => {
+        if (shot.result === 'MISS') target.misses.push(shot.target);
+        else target.hits.push(shot.target);
+    });
+    event.sunkShips.forEach(ship => {
+        if (mine) target.sunkShips.push(ship);
+        else target.ships.filter(s => s.id === ship.id).forEach(s => s.sunk = true);
+    });
+    if (event.revealedShips.length > 0) {
+        // Game over: the whole enemy fleet is shown, as in a snapshot
+        state.opponent.ships = event.revealedShips;
+        state.opponent.sunkShips = [];
+    }
+
+    state.seq = event.seq;
+    state.state = event.state;
+    state.currentTurnPlayerId = event.currentTurnPlayerId;
+    state.winnerId = event.winnerId;
+    renderGame(state);
 }
 
 function challengeStranger() {
@@ -0,0 +1,62 @@
+package com.frankint.battleship.api.controller;
+
+import com.frankint.battleship.api.dto.BoardFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardFormatsTest {
+
+    private final BoardFormats formats = new BoardFormats();
+
+    @Test
+    void testCompactOnlyWhileEverySessionAskedForIt() {
+        formats.onConnected(connected("s1", "alice", "compact"));
+        assertEquals(BoardFormat.COMPACT, formats.formatFor("alice"));
+
+        // A second tab that did not ask for it shares alice's seat topics
+        formats.onConnected(connected("s2", "alice", null));
+        assertEquals(BoardFormat.FULL, formats.formatFor("alice"));
+
+        formats.onDisconnect(disconnected("s2", "alice"));
+        assertEquals(BoardFormat.COMPACT, formats.formatFor("alice"));
+    }
+
+    @Test
+    void testFullForUsersWithoutSessions() {
+        formats.onConnected(connected("s1", "alice", "COMPACT"));
+        formats.onDisconnect(disconnected("s1", "alice"));
+
+        assertEquals(BoardFormat.FULL, formats.formatFor("alice"));
+        assertEquals(BoardFormat.FULL, formats.formatFor("bob"));
+    }
+
+    // The CONNECTED acknowledgement, carrying the client's CONNECT frame
+    private SessionConnectedEvent connected(String sessionId, String user, String board) {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (board != null) {
+            connect.addNativeHeader(BoardFormats.BOARD_HEADER, board);
+        }
+        Message<byte[]> connectMessage = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+
+        SimpMessageHeaderAccessor ack = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        ack.setSessionId(sessionId);
+        ack.setHeader(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER, connectMessage);
+        return new SessionConnectedEvent(this, MessageBuilder.createMessage(new byte[0], ack.getMessageHeaders()), () -> user);
+    }
+
+    private SessionDisconnectEvent disconnected(String sessionId, String user) {
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0],
+                SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT).getMessageHeaders());
+        return new SessionDisconnectEvent(this, message, sessionId, CloseStatus.NORMAL, () -> user);
+    }
+}
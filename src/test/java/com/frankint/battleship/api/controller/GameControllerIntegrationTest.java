@@ -1,6 +1,7 @@
 package com.frankint.battleship.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.PlaceFleetRequest;
 import com.frankint.battleship.api.dto.PlaceShipRequest;
 import com.frankint.battleship.domain.model.Coordinate;
 import com.frankint.battleship.domain.model.Orientation;
@@ -12,6 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -40,6 +44,16 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$.self.playerId").value("player-1"));
     }
 
+    @Test
+    void shouldCreateGameAgainstComputer() throws Exception {
+        mockMvc.perform(post("/api/games/ai")
+                        .with(user("solo")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("SETUP"))
+                .andExpect(jsonPath("$.opponent.playerId", startsWith("ai:")))
+                .andExpect(jsonPath("$.opponent.ships", hasSize(0))); // AI fleet placed but hidden
+    }
+
     @Test
     void shouldJoinGameSuccessfully() throws Exception {
         // 1. Player 1 creates game
@@ -78,6 +92,74 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$.self.ships[0].id").value("Carrier"));
     }
 
+    @Test
+    void shouldPlaceWholeFleetInOneRequest() throws Exception {
+        String gameId = createAndJoinGame("p1", "p2");
+
+        mockMvc.perform(post("/api/games/" + gameId + "/fleet")
+                        .with(user("p1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(standardFleet(0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.self.ships", hasSize(5)))
+                .andExpect(jsonPath("$.state").value("SETUP"));
+
+        mockMvc.perform(post("/api/games/" + gameId + "/fleet")
+                        .with(user("p2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(standardFleet(0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("ACTIVE"));
+    }
+
+    @Test
+    void shouldRejectInvalidFleetNamingTheShip() throws Exception {
+        String gameId = createAndJoinGame("p1", "p2");
+
+        // Row 8 pushes the Cruiser (row 10) off a 10x10 board
+        mockMvc.perform(post("/api/games/" + gameId + "/fleet")
+                        .with(user("p1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(standardFleet(8))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Cruiser")));
+    }
+
+    @Test
+    void shouldAutoPlaceFleet() throws Exception {
+        String gameId = createAndJoinGame("p1", "p2");
+
+        mockMvc.perform(post("/api/games/" + gameId + "/fleet/auto")
+                        .with(user("p1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.self.ships", hasSize(5)));
+    }
+
+    @Test
+    void shouldSendCompactBoardsOnRequest() throws Exception {
+        String gameId = createAndJoinGame("p1", "p2");
+
+        mockMvc.perform(post("/api/games/" + gameId + "/place")
+                        .param("board", "COMPACT")
+                        .with(user("p1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new PlaceShipRequest("Carrier", new Coordinate(2, 3), Orientation.VERTICAL))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.self.ships[0].start.y").value(3))
+                .andExpect(jsonPath("$.self.ships[0].orientation").value("VERTICAL"))
+                .andExpect(jsonPath("$.self.ships[0].coordinates").doesNotExist())
+                .andExpect(jsonPath("$.self.shotGrid.width").value(10))
+                .andExpect(jsonPath("$.self.hits").doesNotExist());
+
+        // Full stays the default, from the same state
+        mockMvc.perform(get("/api/games/" + gameId)
+                        .with(user("p1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.self.ships[0].coordinates", hasSize(5)))
+                .andExpect(jsonPath("$.self.shotGrid").doesNotExist());
+    }
+
     @Test
     void shouldGetGameHistory() throws Exception {
         // 1. Create a game as "history-user"
@@ -92,6 +174,33 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].self.playerId").value("history-user"));
     }
 
+    @Test
+    void shouldPageGameSummaries() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/games").with(user("summary-user")));
+        }
+
+        String response = mockMvc.perform(get("/api/games/summaries?limit=2")
+                        .with(user("summary-user")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(2)))
+                .andExpect(jsonPath("$.games[0].state").value("WAITING_FOR_PLAYER"))
+                .andExpect(jsonPath("$.games[0].opponentId").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+        mockMvc.perform(get("/api/games/summaries?limit=2&cursor=" + cursor)
+                        .with(user("summary-user")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/games/summaries?cursor=not-a-cursor")
+                        .with(user("summary-user")))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldFailIfUnauthenticated() throws Exception {
         // Try to create game without .with(user(...))
@@ -100,6 +209,15 @@ class GameControllerIntegrationTest {
     }
 
     // Helper
+    private PlaceFleetRequest standardFleet(int firstRow) {
+        String[] types = {"Carrier", "Battleship", "Cruiser", "Submarine", "Destroyer"};
+        List<PlaceShipRequest> ships = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            ships.add(new PlaceShipRequest(types[i], new Coordinate(0, firstRow + i), Orientation.HORIZONTAL));
+        }
+        return new PlaceFleetRequest(ships);
+    }
+
     private String createAndJoinGame(String p1, String p2) throws Exception {
         String response = mockMvc.perform(post("/api/games")
                         .with(user(p1)))
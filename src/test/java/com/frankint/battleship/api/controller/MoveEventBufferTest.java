@@ -0,0 +1,70 @@
+package com.frankint.battleship.api.controller;
+
+import com.frankint.battleship.api.dto.MoveEventDTO;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.domain.model.Coordinate;
+import com.frankint.battleship.domain.model.GameState;
+import com.frankint.battleship.domain.model.ShotResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveEventBufferTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testResumesWithJustTheMissedMoves() {
+        MoveEventBuffer buffer = new MoveEventBuffer(8, 60_000, registry);
+        for (int seq = 1; seq <= 5; seq++) {
+            buffer.record("g1", "p1", move(seq));
+        }
+
+        assertEquals(List.of(4L, 5L), seqs(buffer.since("g1", "p1", 3)));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), seqs(buffer.since("g1", "p1", 0)));
+        assertEquals(List.of(), seqs(buffer.since("g1", "p1", 5))); // Up to date
+        assertEquals(3, counter("resumed"));
+    }
+
+    @Test
+    void testFallsBackToASnapshotOnceTheGapIsTooOld() {
+        MoveEventBuffer buffer = new MoveEventBuffer(4, 60_000, registry);
+        for (int seq = 1; seq <= 10; seq++) {
+            buffer.record("g1", "p1", move(seq));
+        }
+
+        assertEquals(List.of(7L, 8L, 9L, 10L), seqs(buffer.since("g1", "p1", 6)));
+        assertTrue(buffer.since("g1", "p1", 5).isEmpty()); // Move 6 was overwritten
+        assertTrue(buffer.since("g1", "p2", 9).isEmpty()); // Nothing held for that seat
+        assertEquals(2, counter("snapshot"));
+    }
+
+    @Test
+    void testDropsSeatsWithoutRecentMoves() {
+        MoveEventBuffer buffer = new MoveEventBuffer(4, 0, registry);
+        buffer.record("g1", "p1", move(1));
+
+        buffer.evictIdle();
+
+        assertTrue(buffer.since("g1", "p1", 0).isEmpty());
+    }
+
+    private static MoveEventDTO move(long seq) {
+        List<ShotDTO> shots = List.of(new ShotDTO(Coordinate.of((int) seq % 10, 0), ShotResult.MISS));
+        return new MoveEventDTO("g1", seq, seq % 2 == 1 ? "p1" : "p2", shots, Collections.emptyList(),
+                GameState.ACTIVE, seq % 2 == 1 ? "p2" : "p1", null, Collections.emptyList());
+    }
+
+    private static List<Long> seqs(Optional<List<MoveEventDTO>> events) {
+        return events.orElseThrow().stream().map(MoveEventDTO::seq).toList();
+    }
+
+    private double counter(String result) {
+        return registry.get("battleship.ws.resumes").tag("result", result).counter().count();
+    }
+}
@@ -1,10 +1,17 @@
 package com.frankint.battleship.api.mapper;
 
+import com.frankint.battleship.api.dto.BoardFormat;
 import com.frankint.battleship.api.dto.GameDTO;
+import com.frankint.battleship.api.dto.MoveEventDTO;
 import com.frankint.battleship.api.dto.ShipDTO;
+import com.frankint.battleship.api.dto.ShotDTO;
+import com.frankint.battleship.api.dto.ShotGridDTO;
 import com.frankint.battleship.domain.model.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.Base64;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameMapperTest {
@@ -146,4 +153,117 @@ class GameMapperTest {
         assertNotNull(dto.self());
         assertNull(dto.opponent());
     }
+
+    @Test
+    void testToMoveEvent_CarriesTheShotsAndTheShipTheySank() {
+        Game game = activeGame();
+        game.fire("p1", new Coordinate(9, 0)); // miss
+        game.fire("p2", new Coordinate(0, 0)); // hit
+        game.fire("p1", new Coordinate(5, 5)); // hit
+        game.fire("p2", new Coordinate(1, 0)); // sinks p1's destroyer
+
+        List<ShotDTO> shots = List.of(new ShotDTO(new Coordinate(1, 0), ShotResult.SUNK));
+        MoveEventDTO forShooter = mapper.toMoveEventDTO(game, "p2", "p2", shots);
+        MoveEventDTO forTarget = mapper.toMoveEventDTO(game, "p1", "p2", shots);
+
+        assertEquals(4, forShooter.seq());
+        assertEquals(mapper.toDTO(game, "p1").seq(), forShooter.seq());
+        assertEquals("p2", forShooter.playerId());
+        assertEquals("s1", forShooter.sunkShips().get(0).id());
+        assertEquals(List.of(new Coordinate(0, 0), new Coordinate(1, 0)), forShooter.sunkShips().get(0).coordinates());
+        assertEquals(forShooter, forTarget); // Nothing hidden from either seat until the game is over
+    }
+
+    @Test
+    void testToMoveEvent_RevealsTheOpponentsFleetOnceFinished() {
+        Game game = activeGame();
+        game.fire("p1", new Coordinate(5, 5));
+        game.fire("p2", new Coordinate(9, 0));
+        game.fire("p1", new Coordinate(6, 5)); // sinks p2's last ship
+
+        List<ShotDTO> shots = List.of(new ShotDTO(new Coordinate(6, 5), ShotResult.SUNK));
+        MoveEventDTO forWinner = mapper.toMoveEventDTO(game, "p1", "p1", shots);
+        MoveEventDTO forLoser = mapper.toMoveEventDTO(game, "p2", "p1", shots);
+
+        assertEquals(GameState.FINISHED, forWinner.state());
+        assertEquals("p1", forWinner.winnerId());
+        assertEquals("s2", forWinner.revealedShips().get(0).id());
+        assertEquals(List.of("s1", "s3"), forLoser.revealedShips().stream().map(ShipDTO::id).toList()); // Still afloat
+    }
+
+    @Test
+    void testToFormat_CompactEventDescribesShipsByStart() {
+        Game game = activeGame();
+        game.fire("p1", new Coordinate(5, 5));
+        game.fire("p2", new Coordinate(9, 0));
+        game.fire("p1", new Coordinate(6, 5)); // sinks p2's last ship
+
+        MoveEventDTO full = mapper.toMoveEventDTO(game, "p2", "p1",
+                List.of(new ShotDTO(new Coordinate(6, 5), ShotResult.SUNK)));
+        MoveEventDTO compact = mapper.toFormat(full, BoardFormat.COMPACT);
+
+        assertSame(full, mapper.toFormat(full, BoardFormat.FULL));
+        assertEquals(full.seq(), compact.seq());
+        assertEquals(full.shots(), compact.shots());
+        ShipDTO sunk = compact.sunkShips().get(0);
+        assertEquals(Coordinate.of(5, 5), sunk.start());
+        assertEquals(Orientation.HORIZONTAL, sunk.orientation());
+        assertNull(sunk.coordinates());
+        assertEquals(mapper.toDTO(game, "p2", BoardFormat.COMPACT).opponent().ships(), compact.revealedShips());
+    }
+
+    @Test
+    void testToDTO_CompactWritesShotsAsBitsetsAndShipsByStart() {
+        Game game = activeGame();
+        game.fire("p1", Coordinate.of(5, 5));  // Hit, bit 55
+        game.fire("p2", Coordinate.of(9, 9));  // Miss, bit 99
+        game.fire("p1", Coordinate.of(0, 0));  // Miss, bit 0
+
+        GameDTO dto = mapper.toDTO(game, "p1", BoardFormat.COMPACT);
+
+        ShotGridDTO enemyShots = dto.opponent().shotGrid();
+        assertEquals(10, enemyShots.width());
+        assertArrayEquals(bitset(55), Base64.getDecoder().decode(enemyShots.hits()));
+        assertArrayEquals(bitset(0), Base64.getDecoder().decode(enemyShots.misses()));
+        assertArrayEquals(bitset(99), Base64.getDecoder().decode(dto.self().shotGrid().misses()));
+        assertNull(dto.self().hits());
+
+        ShipDTO ship = dto.self().ships().get(0);
+        assertEquals(Coordinate.of(0, 0), ship.start());
+        assertEquals(Orientation.HORIZONTAL, ship.orientation());
+        assertNull(ship.coordinates());
+    }
+
+    @Test
+    void testToDTO_CompactShipsKeepTheirOrientation() {
+        Board board = new Board(12, 12);
+        board.placeShip("s1", 4, Coordinate.of(11, 3), Orientation.VERTICAL);
+        Game game = new Game(new Player("p1", board));
+
+        ShipDTO ship = mapper.toDTO(game, "p1", BoardFormat.COMPACT).self().ships().get(0);
+
+        assertEquals(Coordinate.of(11, 3), ship.start());
+        assertEquals(Orientation.VERTICAL, ship.orientation());
+        assertEquals(4, ship.size());
+        // 144 cells in 18 bytes, whatever the number of shots
+        assertEquals(18, Base64.getDecoder().decode(mapper.toDTO(game, "p1", BoardFormat.COMPACT).self().shotGrid().hits()).length);
+    }
+
+    // 100 bits, as on a 10x10 board, with just the given one set
+    private static byte[] bitset(int bit) {
+        byte[] bits = new byte[13];
+        bits[bit / 8] = (byte) (1 << (bit % 8));
+        return bits;
+    }
+
+    // p1's ships at (0,0)-(1,0) and (0,9)-(1,9), p2's at (5,5)-(6,5); p1 to move
+    private static Game activeGame() {
+        Board b1 = new Board(10, 10);
+        b1.placeShip("s1", 2, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        b1.placeShip("s3", 2, new Coordinate(0, 9), Orientation.HORIZONTAL);
+        Board b2 = new Board(10, 10);
+        b2.placeShip("s2", 2, new Coordinate(5, 5), Orientation.HORIZONTAL);
+        return Game.reconstitute("g1", new Player("p1", b1), new Player("p2", b2), "p1",
+                GameState.ACTIVE, null, GameMode.CLASSIC);
+    }
 }
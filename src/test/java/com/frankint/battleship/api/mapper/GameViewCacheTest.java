@@ -0,0 +1,86 @@
+package com.frankint.battleship.api.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameViewCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JacksonConfig().battleshipModule());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testServesTheSameBytesUntilTheGameChanges() throws Exception {
+        GameViewCache cache = new GameViewCache(new GameMapper(), objectMapper, 100, 60_000, registry);
+        Game game = setupGame();
+
+        byte[] first = cache.json(game, "p1");
+        assertSame(first, cache.json(game, "p1"));
+
+        // Same version, as for a second save in one transaction, but another ship on the board
+        game.placeShip("p1", ShipType.DESTROYER, new Coordinate(0, 2), Orientation.HORIZONTAL);
+        byte[] placed = cache.json(game, "p1");
+        assertNotSame(first, placed);
+        assertEquals(2, objectMapper.readTree(placed).at("/self/ships").size());
+
+        assertEquals(1, requests("hit"));
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    void testKeepsEachSeatsViewApart() throws Exception {
+        GameViewCache cache = new GameViewCache(new GameMapper(), objectMapper, 100, 60_000, registry);
+        Game game = setupGame();
+
+        byte[] p1View = cache.json(game, "p1");
+        byte[] p2View = cache.json(game, "p2");
+
+        assertEquals("p1", objectMapper.readTree(p1View).at("/self/playerId").asText());
+        assertEquals("p2", objectMapper.readTree(p2View).at("/self/playerId").asText());
+    }
+
+    @Test
+    void testDoesNotCacheUnsavedGamesOrPastMaxSize() throws Exception {
+        GameViewCache cache = new GameViewCache(new GameMapper(), objectMapper, 1, 60_000, registry);
+        Game game = setupGame();
+        Game unsaved = setupGame();
+        unsaved.setVersion(null);
+
+        cache.json(unsaved, "p1");
+        cache.json(unsaved, "p1");
+        cache.json(game, "p1");
+        cache.json(game, "p2"); // Full: served, not kept
+        cache.json(game, "p2");
+
+        assertEquals(0, requests("hit"));
+        assertEquals(1, registry.get("battleship.game.view-cache.size").gauge().value());
+    }
+
+    @Test
+    void testDropsViewsNotReadRecently() throws Exception {
+        GameViewCache cache = new GameViewCache(new GameMapper(), objectMapper, 100, 0, registry);
+        Game game = setupGame();
+        byte[] first = cache.json(game, "p1");
+
+        cache.evictIdle();
+
+        assertNotSame(first, cache.json(game, "p1"));
+    }
+
+    // Both seats taken, p1 with a carrier placed; saved as version 3
+    private static Game setupGame() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+        game.placeShip("p1", ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        game.setVersion(3L);
+        return game;
+    }
+
+    private double requests(String result) {
+        return registry.get("battleship.game.view-cache.requests").tag("result", result).functionCounter().count();
+    }
+}
@@ -5,6 +5,9 @@ import com.frankint.battleship.domain.model.Board;
 import com.frankint.battleship.domain.model.Game;
 import com.frankint.battleship.domain.model.Player;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,8 +17,74 @@ public class InMemoryGameRepositoryTest {
         InMemoryGameRepository repository = new InMemoryGameRepository();
         Game game = new Game(new Player("p1", new Board(10, 10)));
         assertEquals(game, repository.save(game));
-        assertEquals(game, repository.findById(game.getId()).get());
+        assertEquals(game.getId(), repository.findById(game.getId()).get().getId());
         repository.delete(game.getId());
         assertTrue(repository.findById(game.getId()).isEmpty());
     }
+
+    @Test
+    public void testSaveOfAnOutdatedCopyIsRejected() {
+        InMemoryGameRepository repository = new InMemoryGameRepository();
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        repository.save(game);
+
+        Game first = repository.findById(game.getId()).orElseThrow();
+        Game second = repository.findById(game.getId()).orElseThrow();
+        first.join(new Player("p2", new Board(10, 10)));
+        repository.save(first);
+        second.join(new Player("p3", new Board(10, 10)));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(second));
+        assertEquals("p2", repository.findById(game.getId()).orElseThrow().getPlayer2().getId());
+        assertEquals(1L, repository.findById(game.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testSaveOfADeletedGameIsRejected() {
+        InMemoryGameRepository repository = new InMemoryGameRepository();
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        repository.save(game);
+
+        Game stale = repository.findById(game.getId()).orElseThrow();
+        repository.delete(game.getId());
+        stale.join(new Player("p2", new Board(10, 10)));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+        assertTrue(repository.findById(game.getId()).isEmpty());
+        assertTrue(repository.findGamesByPlayer("p2").isEmpty());
+    }
+
+    @Test
+    public void testHistoryFollowsSeatsAndPerSeatVisibility() {
+        InMemoryGameRepository repository = new InMemoryGameRepository();
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        repository.save(game);
+        Game other = new Game(new Player("p3", new Board(10, 10)));
+        repository.save(other);
+        assertTrue(repository.findGamesByPlayer("p2").isEmpty());
+
+        Game joined = repository.findById(game.getId()).orElseThrow();
+        joined.join(new Player("p2", new Board(10, 10)));
+        repository.save(joined);
+        assertEquals(List.of(game.getId()), ids(repository.findGamesByPlayer("p2")));
+
+        // Hiding is per seat, and a stranger cannot hide anything
+        repository.hideGame(game.getId(), "p3");
+        repository.hideGame(game.getId(), "p1");
+        assertTrue(repository.findGamesByPlayer("p1").isEmpty());
+        assertEquals(List.of(game.getId()), ids(repository.findGamesByPlayer("p2")));
+        assertEquals(1, repository.findGameSummaries("p2", null, 10).size());
+
+        // Saving does not bring a hidden game back
+        repository.save(repository.findById(game.getId()).orElseThrow());
+        assertTrue(repository.findGamesByPlayer("p1").isEmpty());
+
+        repository.delete(game.getId());
+        assertTrue(repository.findGamesByPlayer("p2").isEmpty());
+        assertEquals(List.of(other.getId()), ids(repository.findGamesByPlayer("p3")));
+    }
+
+    private static List<String> ids(List<Game> games) {
+        return games.stream().map(Game::getId).toList();
+    }
 }
@@ -0,0 +1,42 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.domain.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AiOpponentServiceTest {
+
+    @Autowired
+    private AiOpponentService aiOpponentService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    void aiAnswersTheHumansMove() throws Exception {
+        Game created = aiOpponentService.createGame("human");
+        String aiId = created.getPlayer2().getId();
+        assertTrue(AiOpponentService.isAiPlayer(aiId));
+        assertEquals(Game.FLEET_SIZE, created.getPlayer2().getBoard().getShipCount());
+
+        gameService.autoPlaceFleet(created.getId(), "human");
+        Game afterHuman = gameService.makeMove(created.getId(), "human", new Coordinate(0, 0));
+        assertEquals(aiId, afterHuman.getCurrentTurnPlayerId());
+
+        CompletableFuture<GameService.ShotOutcome> aiMove = new CompletableFuture<>();
+        aiOpponentService.playTurnIfDue(afterHuman, aiMove::complete);
+        GameService.ShotOutcome outcome = aiMove.get(5, TimeUnit.SECONDS);
+
+        assertEquals(aiId, outcome.playerId());
+        Game stored = gameService.getGame(created.getId());
+        assertEquals("human", stored.getCurrentTurnPlayerId());
+        assertTrue(stored.getPlayer1().getBoard().isShotAt(outcome.target()));
+    }
+}
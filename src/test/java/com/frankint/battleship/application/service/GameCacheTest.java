@@ -0,0 +1,140 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.domain.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Game> store = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, Optional<Game>> loader = id -> {
+        loads.incrementAndGet();
+        return Optional.ofNullable(store.get(id));
+    };
+
+    @Test
+    void testHitsReturnPrivateCopies() {
+        GameCache cache = new GameCache(100, 60_000, 60_000, registry);
+        Game game = storedGame(GameState.SETUP);
+
+        Game first = cache.load(game.getId(), loader).orElseThrow().game();
+        Game second = cache.load(game.getId(), loader).orElseThrow().game();
+        second.getPlayer1().getBoard().fireShot(new Coordinate(0, 0));
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertFalse(cache.load(game.getId(), loader).orElseThrow().game().getPlayer1().getBoard()
+                .isShotAt(new Coordinate(0, 0)));
+        assertEquals(2, counter("hit"));
+        assertEquals(1, counter("miss"));
+    }
+
+    @Test
+    void testStaleWriteDoesNotOverwriteNewerOne() {
+        GameCache cache = new GameCache(100, 60_000, 60_000, registry);
+        Game game = storedGame(GameState.SETUP);
+
+        GameCache.Loaded a = cache.load(game.getId(), loader).orElseThrow();
+        GameCache.Loaded b = cache.load(game.getId(), loader).orElseThrow();
+        a.game().getPlayer1().getBoard().fireShot(new Coordinate(1, 1));
+        b.game().getPlayer1().getBoard().fireShot(new Coordinate(2, 2));
+
+        cache.saved(a.game(), a.version());
+        assertTrue(cache.load(game.getId(), loader).orElseThrow().game().getPlayer1().getBoard()
+                .isShotAt(new Coordinate(1, 1)));
+
+        // b was loaded at the version a replaced: the entry is dropped, not overwritten with b
+        cache.saved(b.game(), b.version());
+        cache.load(game.getId(), loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoadRacingAWriteIsNotCached() {
+        GameCache cache = new GameCache(100, 60_000, 60_000, registry);
+        Game game = storedGame(GameState.SETUP);
+
+        // Another request commits a change while this (now outdated) load is in flight
+        cache.load(game.getId(), id -> {
+            Optional<Game> outdated = loader.apply(id);
+            cache.invalidate(id);
+            return outdated;
+        });
+
+        cache.load(game.getId(), loader);
+        cache.load(game.getId(), loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictionPrefersFinishedAndIdleWaitingGames() {
+        GameCache cache = new GameCache(3, 60_000, 0, registry);
+        Game active = storedGame(GameState.ACTIVE);
+        Game waiting = storedGame(GameState.WAITING_FOR_PLAYER);
+        Game finished = storedGame(GameState.FINISHED);
+        Game activeToo = storedGame(GameState.ACTIVE);
+
+        cache.load(active.getId(), loader);
+        cache.load(waiting.getId(), loader);
+        cache.load(finished.getId(), loader);
+        cache.load(activeToo.getId(), loader);
+        loads.set(0);
+
+        cache.load(active.getId(), loader);
+        cache.load(activeToo.getId(), loader);
+        assertEquals(0, loads.get());
+        cache.load(finished.getId(), loader);
+        cache.load(waiting.getId(), loader);
+        assertEquals(2, loads.get());
+        assertTrue(registry.get("battleship.game.cache.evictions").tag("cause", "size").counter().count() >= 2);
+    }
+
+    @Test
+    void testExpiredEntriesAreReloaded() throws InterruptedException {
+        GameCache cache = new GameCache(100, 1, 60_000, registry);
+        Game game = storedGame(GameState.ACTIVE);
+
+        cache.load(game.getId(), loader);
+        Thread.sleep(5);
+        cache.load(game.getId(), loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, registry.get("battleship.game.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        GameCache cache = new GameCache(0, 60_000, 60_000, registry);
+        Game game = storedGame(GameState.ACTIVE);
+
+        GameCache.Loaded loaded = cache.load(game.getId(), loader).orElseThrow();
+        cache.saved(loaded.game(), loaded.version());
+        cache.load(game.getId(), loader);
+
+        assertEquals(2, loads.get());
+        assertSame(game, loaded.game());
+    }
+
+    private double counter(String result) {
+        return registry.get("battleship.game.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+    private Game storedGame(GameState state) {
+        Game game = Game.reconstitute(UUID.randomUUID().toString(),
+                new Player("p1", new Board(10, 10)), new Player("p2", new Board(10, 10)),
+                "p1", state, null, GameMode.CLASSIC);
+        store.put(game.getId(), game);
+        return game;
+    }
+}
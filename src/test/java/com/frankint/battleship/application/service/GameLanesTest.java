@@ -0,0 +1,89 @@
+package com.frankint.battleship.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLanesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameLanes lanes = new GameLanes(registry);
+
+    @AfterEach
+    void tearDown() {
+        lanes.shutdown();
+    }
+
+    @Test
+    void testTasksOfOneGameRunOneAtATimeInOrder() {
+        List<Integer> order = new ArrayList<>(); // Unsynchronized: only ever touched by one writer
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            tasks.add(lanes.execute("g1", () -> {
+                if (running.incrementAndGet() > 1) overlaps.incrementAndGet();
+                order.add(n);
+                Thread.yield();
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(0, overlaps.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void testABusyGameDoesNotHoldUpAnother() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = lanes.execute("g1", () -> {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Would never run if g2 waited for g1
+        lanes.execute("g2", released::countDown).get(5, TimeUnit.SECONDS);
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testAFailedTaskReachesItsCallerOnly() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> lanes.call("g1", () -> {
+                    throw new IllegalStateException("Not your turn!");
+                }));
+        assertEquals("Not your turn!", thrown.getMessage());
+
+        assertEquals("next", lanes.call("g1", () -> "next"));
+    }
+
+    @Test
+    void testIdleLanesAreDropped() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            lanes.call("g" + i, () -> null);
+        }
+        // Removal runs just after a task completes, so allow it a moment
+        for (int i = 0; i < 100 && lanes.activeLanes() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, lanes.activeLanes());
+        assertEquals(0, registry.get("battleship.game.lanes").gauge().value());
+    }
+}
@@ -0,0 +1,146 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.exception.GameNotFoundException;
+import com.frankint.battleship.domain.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many requests mutating one game at once: every change that was reported as saved must be in
+ * the stored game, and nothing may be saved over a deleted game.
+ */
+@SpringBootTest
+class GameServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Test
+    void parallelPlacementsAreAllKept() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            String gameId = gameService.createGame("p1").getId();
+            gameService.joinGame(gameId, "p2");
+
+            // Both fleets, one ship per request, all ten at once
+            List<Callable<Game>> placements = new ArrayList<>();
+            for (String player : List.of("p1", "p2")) {
+                ShipType[] types = ShipType.values();
+                for (int row = 0; row < types.length; row++) {
+                    Coordinate start = new Coordinate(0, row * 2);
+                    String typeId = types[row].getId();
+                    placements.add(() -> gameService.placeShip(gameId, player, typeId, start, Orientation.HORIZONTAL));
+                }
+            }
+            runTogether(placements, new AtomicInteger());
+
+            Game stored = gameRepository.findById(gameId).orElseThrow();
+            assertEquals(Game.FLEET_SIZE, stored.getPlayer1().getBoard().getShipCount());
+            assertEquals(Game.FLEET_SIZE, stored.getPlayer2().getBoard().getShipCount());
+            assertEquals(GameState.ACTIVE, stored.getState());
+        }
+    }
+
+    @Test
+    void everyAcceptedMoveIsOnTheBoard() throws Exception {
+        String gameId = activeGame();
+
+        // Both players fire at every cell of a row band at once; only moves in turn are accepted
+        List<Callable<Game>> moves = new ArrayList<>();
+        for (int cell = 50; cell < 100; cell++) {
+            Coordinate target = Coordinate.of(cell % 10, cell / 10);
+            moves.add(() -> gameService.makeMove(gameId, "p1", target));
+            moves.add(() -> gameService.makeMove(gameId, "p2", target));
+        }
+        AtomicInteger rejected = new AtomicInteger();
+        int accepted = runTogether(moves, rejected);
+
+        Game stored = gameRepository.findById(gameId).orElseThrow();
+        int shotsOnBoards = shots(stored.getPlayer1().getBoard()) + shots(stored.getPlayer2().getBoard());
+        assertEquals(accepted, shotsOnBoards);
+        assertEquals(moves.size(), accepted + rejected.get());
+        assertTrue(accepted > 0);
+    }
+
+    @Test
+    void movesRacingADeleteDoNotBringTheGameBack() throws Exception {
+        String gameId = activeGame();
+
+        List<Callable<Game>> requests = new ArrayList<>();
+        for (int cell = 50; cell < 80; cell++) {
+            Coordinate target = Coordinate.of(cell % 10, cell / 10);
+            requests.add(() -> gameService.makeMove(gameId, "p1", target));
+            requests.add(() -> gameService.makeMove(gameId, "p2", target));
+        }
+        requests.add(THREADS / 2, () -> {
+            gameService.deleteGame(gameId);
+            return null;
+        });
+        runTogether(requests, new AtomicInteger());
+
+        assertTrue(gameRepository.findById(gameId).isEmpty());
+    }
+
+    private String activeGame() {
+        String gameId = gameService.createGame("p1").getId();
+        gameService.joinGame(gameId, "p2");
+        gameService.autoPlaceFleet(gameId, "p1");
+        gameService.autoPlaceFleet(gameId, "p2");
+        return gameId;
+    }
+
+    private static int shots(Board board) {
+        return board.getHitShots().size() + board.getMissedShots().size();
+    }
+
+    /**
+     * Starts all tasks at the same moment on {@link #THREADS} threads. Returns the number that succeeded;
+     * rule violations (and moves on a deleted game) are counted in {@code rejected}, anything else fails the test.
+     */
+    private static int runTogether(List<Callable<Game>> tasks, AtomicInteger rejected) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Game>> futures = new ArrayList<>();
+            for (Callable<Game> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Game> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IllegalStateException || cause instanceof IllegalArgumentException
+                            || cause instanceof GameNotFoundException) {
+                        rejected.incrementAndGet();
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.frankint.battleship.application.service;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GameServiceTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void movesContinueAfterASeatHidesTheGame() {
+        String gameId = activeGame();
+        gameService.makeMove(gameId, "p1", new Coordinate(9, 9));
+
+        gameService.hideGame(gameId, "p1");
+
+        Game game = gameService.makeMove(gameId, "p2", new Coordinate(9, 9));
+        assertEquals("p1", game.getCurrentTurnPlayerId());
+        assertTrue(game.getPlayer1().getBoard().isShotAt(new Coordinate(9, 9)));
+    }
+
+    @Test
+    void retriesReloadAGameWrittenAroundTheCache() {
+        String gameId = activeGame();
+        gameService.getGame(gameId); // Cached
+
+        // Written straight to the repository, so the cached copy now has an old version
+        tx.executeWithoutResult(status -> gameRepository.hideGame(gameId, "p2"));
+
+        Game game = gameService.makeMove(gameId, "p1", new Coordinate(9, 9));
+        assertEquals("p2", game.getCurrentTurnPlayerId());
+        assertTrue(gameService.getGame(gameId).getPlayer2().getBoard().isShotAt(new Coordinate(9, 9)));
+    }
+
+    private String activeGame() {
+        String gameId = gameService.createGame("p1").getId();
+        gameService.joinGame(gameId, "p2");
+        gameService.autoPlaceFleet(gameId, "p1");
+        gameService.autoPlaceFleet(gameId, "p2");
+        return gameId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.frankint.battleship.domain.ai;
+
+import com.frankint.battleship.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbabilityTargetingTest {
+
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting();
+
+    @Test
+    void testFinishesOffAWoundedShip() {
+        Board board = new Board(10, 10);
+        board.placeShip("Destroyer", 2, new Coordinate(4, 4), Orientation.HORIZONTAL);
+        board.fireShot(new Coordinate(4, 4));
+        board.fireShot(new Coordinate(4, 3)); // miss above
+        board.fireShot(new Coordinate(4, 5)); // miss below
+        board.fireShot(new Coordinate(3, 4)); // miss left
+
+        Coordinate target = targeting.chooseTarget(board, Duration.ofMillis(50), new SplittableRandom(1));
+
+        assertEquals(new Coordinate(5, 4), target);
+    }
+
+    @Test
+    void testZeroBudgetStillReturnsUnshotCell() {
+        Board board = new Board(10, 10);
+        board.fireShot(new Coordinate(0, 0));
+
+        Coordinate target = targeting.chooseTarget(board, Duration.ZERO, new SplittableRandom(1));
+
+        assertFalse(board.isShotAt(target));
+    }
+
+    /**
+     * Plays full games against random fleets; decision latency is measured by TargetingBenchmark.
+     */
+    @Test
+    void testWinsInFarFewerShotsThanRandom() {
+        int games = 100;
+        long totalShots = 0;
+        SplittableRandom rng = new SplittableRandom(2024);
+
+        for (int g = 0; g < games; g++) {
+            Board board = new Board(10, 10);
+            board.autoPlace(ShipType.values(), rng);
+
+            while (!board.allShipsSunk()) {
+                Coordinate target = targeting.chooseTarget(board, Duration.ofMillis(50), rng);
+                assertNotEquals(ShotResult.DUPLICATE, board.fireShot(target));
+                totalShots++;
+            }
+        }
+
+        // Random play needs ~96 shots on average; a density hunter should be far better
+        double averageShots = (double) totalShots / games;
+        assertTrue(averageShots < 60, "Average shots to win: " + averageShots);
+    }
+}
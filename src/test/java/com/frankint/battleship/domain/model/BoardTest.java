@@ -1,10 +1,15 @@
 package com.frankint.battleship.domain.model;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class BoardTest {
     @Test
@@ -168,5 +173,121 @@ class BoardTest {
         assertEquals(ShotResult.SUNK, result2); // size 1 ship
     }
 
+    @Test
+    void testFireShot_LargeBoardAcrossWordBoundaries() {
+        Board board = new Board(30, 20); // 600 cells -> spans several bitboard words
+
+        board.placeShip("Carrier", 5, new Coordinate(25, 19), Orientation.HORIZONTAL);
+        board.placeShip("Destroyer", 2, new Coordinate(3, 2), Orientation.VERTICAL); // cells 63 and 93
+
+        assertEquals(ShotResult.HIT, board.fireShot(new Coordinate(3, 2)));
+        assertEquals(ShotResult.SUNK, board.fireShot(new Coordinate(3, 3)));
+        assertEquals(ShotResult.MISS, board.fireShot(new Coordinate(4, 2)));
+        assertEquals(ShotResult.DUPLICATE, board.fireShot(new Coordinate(4, 2)));
+        assertEquals(ShotResult.HIT, board.fireShot(new Coordinate(29, 19)));
+        assertThrows(IllegalArgumentException.class,
+                () -> board.placeShip("Cruiser", 3, new Coordinate(2, 3), Orientation.HORIZONTAL));
+
+        assertEquals(List.of(new Coordinate(3, 2), new Coordinate(3, 3), new Coordinate(29, 19)), board.getHitShots());
+        assertEquals(List.of(new Coordinate(4, 2)), board.getMissedShots());
+        assertFalse(board.allShipsSunk());
+    }
+
+    @Test
+    void testFleetHealth_TracksRemainingCellsAndSunkShips() {
+        Board board = new Board(10, 10);
+        board.placeShip("Destroyer", 2, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip("Submarine", 3, new Coordinate(0, 2), Orientation.VERTICAL);
+        assertEquals(5, board.getRemainingShipCells());
+        assertEquals(0, board.getSunkShipCount());
+
+        board.fireShot(new Coordinate(0, 0));
+        board.fireShot(new Coordinate(9, 9)); // miss
+        board.fireShot(new Coordinate(0, 0)); // duplicate
+        assertEquals(4, board.getRemainingShipCells());
+
+        board.fireShot(new Coordinate(1, 0));
+        assertEquals(3, board.getRemainingShipCells());
+        assertEquals(1, board.getSunkShipCount());
+        assertEquals("Destroyer", board.getSunkShips().get(0).getId());
+        assertFalse(board.allShipsSunk());
+
+        board.fireShot(new Coordinate(0, 2));
+        board.fireShot(new Coordinate(0, 3));
+        board.fireShot(new Coordinate(0, 4));
+        assertEquals(0, board.getRemainingShipCells());
+        assertEquals(2, board.getSunkShipCount());
+        assertTrue(board.allShipsSunk());
+    }
+
+    @Test
+    void testAutoPlace_ProducesValidFleet() {
+        for (long seed = 0; seed < 500; seed++) {
+            Board board = new Board(10, 10);
+            board.autoPlace(ShipType.values(), new SplittableRandom(seed));
+
+            assertEquals(ShipType.values().length, board.getShipCount());
+            assertEquals(17, board.getOccupied().size()); // no overlaps
+            for (Coordinate c : board.getOccupied()) {
+                assertTrue(c.x() < 10 && c.y() < 10, "Off board: " + c);
+            }
+        }
+    }
+
+    @Test
+    void testAutoPlace_AvoidsExistingShipsAndLargeBoards() {
+        Board board = new Board(200, 150);
+        board.placeShip("Wall", 150, new Coordinate(100, 0), Orientation.VERTICAL);
+
+        board.autoPlace(ShipType.values(), new SplittableRandom(42));
+
+        assertEquals(6, board.getShipCount());
+        assertEquals(150 + 17, board.getOccupied().size());
+    }
 
+    @Test
+    void testAutoPlace_ImpossibleFleetLeavesBoardUnchanged() {
+        Board board = new Board(3, 3);
+        board.placeShip("Existing", 1, new Coordinate(1, 1), Orientation.HORIZONTAL);
+
+        assertThrows(IllegalStateException.class,
+                () -> board.autoPlace(new ShipType[]{ShipType.CARRIER}, new SplittableRandom(1)));
+        assertEquals(1, board.getShipCount());
+        assertEquals(1, board.getRemainingShipCells());
+    }
+
+    @Test
+    void testFireShot_NoCoordinateAllocationOnStandardBoard() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+
+        // Warm up so class loading and JIT do not count against the measured run
+        for (int i = 0; i < 200; i++) fireEveryCell(newPresizedBoard());
+
+        Board board = newPresizedBoard();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        fireEveryCell(board);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A single Coordinate is at least 16 bytes, 100 shots would be well over 1KB
+        assertTrue(allocated < 16, "fireShot allocated " + allocated + " bytes over 100 shots");
+        assertSame(Coordinate.of(0, 0), board.getHitShots().get(0));
+    }
+
+    private static Board newPresizedBoard() {
+        Board board = new Board(10, 10);
+        board.placeShip("Carrier", 5, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        // Take ArrayList growth out of the picture; only Coordinate allocation is under test
+        ((ArrayList<Coordinate>) board.getHitShots()).ensureCapacity(100);
+        ((ArrayList<Coordinate>) board.getMissedShots()).ensureCapacity(100);
+        return board;
+    }
+
+    private static void fireEveryCell(Board board) {
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                board.fireShot(Coordinate.of(x, y));
+            }
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.frankint.battleship.domain.model;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CoordinateTest {
@@ -42,5 +43,21 @@ class CoordinateTest {
         assertEquals(Integer.MAX_VALUE, c.x());
         assertEquals(Integer.MAX_VALUE, c.y());
     }
-}
 
+    @Test
+    void testOfReturnsCanonicalInstanceInsideCache() {
+        assertSame(Coordinate.of(3, 7), Coordinate.of(3, 7));
+        assertEquals(new Coordinate(3, 7), Coordinate.of(3, 7));
+    }
+
+    @Test
+    void testOfOutsideCacheStillEqual() {
+        int outside = Coordinate.CACHE_SIZE + 5;
+        assertEquals(new Coordinate(outside, 1), Coordinate.of(outside, 1));
+    }
+
+    @Test
+    void testOfNegativeThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> Coordinate.of(-1, 0));
+    }
+}
@@ -2,6 +2,10 @@ package com.frankint.battleship.domain.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GameTest {
@@ -53,6 +57,169 @@ public class GameTest {
         Game game = new Game(p1);
         assertThrows(IllegalStateException.class, () ->game.fire("p1", new Coordinate(0, 0)));
     }
+    @Test
+    void testPlaceFleet_StartsGameWhenBothFleetsPlaced() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+
+        game.placeFleet("p1", standardFleet());
+        assertEquals(GameState.SETUP, game.getState());
+        assertEquals(Game.FLEET_SIZE, game.getPlayer1().getBoard().getShipCount());
+
+        game.placeFleet("p2", standardFleet());
+        assertEquals(GameState.ACTIVE, game.getState());
+    }
+
+    @Test
+    void testPlaceFleet_InvalidShipRollsBackWholeFleet() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        List<ShipPlacement> fleet = new ArrayList<>(standardFleet());
+        // Destroyer overlaps the Carrier
+        fleet.set(4, new ShipPlacement(ShipType.DESTROYER, new Coordinate(2, 0), Orientation.VERTICAL));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> game.placeFleet("p1", fleet));
+
+        assertTrue(e.getMessage().contains("Destroyer"), e.getMessage());
+        Board board = game.getPlayer1().getBoard();
+        assertEquals(0, board.getShipCount());
+        assertTrue(board.getOccupied().isEmpty());
+        assertDoesNotThrow(() -> game.placeFleet("p1", standardFleet()));
+    }
+
+    @Test
+    void testPlaceFleet_RejectsDuplicateAndMissingTypes() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        List<ShipPlacement> fleet = new ArrayList<>(standardFleet());
+        fleet.set(4, new ShipPlacement(ShipType.CRUISER, new Coordinate(0, 6), Orientation.HORIZONTAL));
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> game.placeFleet("p1", fleet));
+        assertTrue(duplicate.getMessage().contains("Cruiser"), duplicate.getMessage());
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> game.placeFleet("p1", standardFleet().subList(0, 4)));
+        assertTrue(missing.getMessage().contains("Destroyer"), missing.getMessage());
+    }
+
+    @Test
+    void testAutoPlaceFleet_FillsRemainingShips() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+        game.placeShip("p1", ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL);
+
+        game.autoPlaceFleet("p1", new SplittableRandom(7));
+        game.autoPlaceFleet("p2", new SplittableRandom(8));
+
+        assertEquals(Game.FLEET_SIZE, game.getPlayer1().getBoard().getShipCount());
+        assertEquals(GameState.ACTIVE, game.getState());
+    }
+
+    @Test
+    void testFireSalvo_AppliesVolleyAndSwitchesTurn() {
+        Game game = activeSalvoGame();
+
+        List<ShotResult> results = game.fireSalvo("p1", List.of(
+                new Coordinate(0, 4), new Coordinate(1, 4), new Coordinate(9, 9)));
+
+        assertEquals(List.of(ShotResult.HIT, ShotResult.SUNK, ShotResult.MISS), results);
+        assertEquals("p2", game.getCurrentTurnPlayerId());
+        assertEquals(3, game.getPlayer2().getBoard().getHitShots().size() + game.getPlayer2().getBoard().getMissedShots().size());
+    }
+
+    @Test
+    void testFireSalvo_InvalidVolleyChangesNothing() {
+        Game game = activeSalvoGame();
+        game.fireSalvo("p1", List.of(new Coordinate(9, 9)));
+        game.fireSalvo("p2", List.of(new Coordinate(9, 9)));
+
+        // Second target was already fired at last turn
+        assertThrows(IllegalArgumentException.class,
+                () -> game.fireSalvo("p1", List.of(new Coordinate(0, 0), new Coordinate(9, 9))));
+        // Same cell twice in one volley
+        assertThrows(IllegalArgumentException.class,
+                () -> game.fireSalvo("p1", List.of(new Coordinate(0, 0), new Coordinate(0, 0))));
+        // More shots than surviving ships
+        assertThrows(IllegalArgumentException.class,
+                () -> game.fireSalvo("p1", List.of(new Coordinate(0, 5), new Coordinate(1, 5), new Coordinate(2, 5),
+                        new Coordinate(3, 5), new Coordinate(4, 5), new Coordinate(5, 5))));
+
+        assertTrue(game.getPlayer2().getBoard().getHitShots().isEmpty());
+        assertEquals(1, game.getPlayer2().getBoard().getMissedShots().size());
+        assertEquals("p1", game.getCurrentTurnPlayerId());
+    }
+
+    @Test
+    void testFireSalvo_RejectedInClassicGames() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+        game.placeFleet("p1", standardFleet());
+        game.placeFleet("p2", standardFleet());
+
+        assertThrows(IllegalStateException.class, () -> game.fireSalvo("p1", List.of(new Coordinate(0, 0))));
+    }
+
+    @Test
+    void testFire_RejectedInSalvoGames() {
+        Game game = activeSalvoGame();
+
+        assertThrows(IllegalStateException.class, () -> game.fire("p1", new Coordinate(0, 0)));
+        assertEquals("p1", game.getCurrentTurnPlayerId());
+        assertFalse(game.getPlayer2().getBoard().isShotAt(new Coordinate(0, 0)));
+        assertTrue(game.pullEvents().stream().noneMatch(e -> e instanceof GameEvent.ShotFired));
+
+        // A single shot already in a salvo game's log still replays
+        game.replay(new GameEvent.ShotFired("p1", new Coordinate(0, 0)));
+        assertTrue(game.getPlayer2().getBoard().isShotAt(new Coordinate(0, 0)));
+    }
+
+    @Test
+    void testReplayingEventsRebuildsGame() {
+        Game game = new Game(new Player("p1", new Board(10, 10)), GameMode.SALVO);
+        Game copy = Game.reconstitute(game.getId(), new Player("p1", new Board(10, 10)), null,
+                "p1", GameState.WAITING_FOR_PLAYER, null, GameMode.SALVO);
+
+        game.join(new Player("p2", new Board(10, 10)));
+        game.placeShip("p1", ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        game.autoPlaceFleet("p1", new SplittableRandom(5));
+        game.placeFleet("p2", standardFleet());
+        game.fireSalvo("p1", List.of(new Coordinate(0, 0), new Coordinate(9, 9)));
+        game.fireSalvo("p2", List.of(new Coordinate(4, 4)));
+
+        List<GameEvent> events = game.pullEvents();
+        assertEquals(6, events.size());
+        assertTrue(game.pullEvents().isEmpty());
+
+        events.forEach(copy::replay);
+
+        assertTrue(copy.pullEvents().isEmpty());
+        assertEquals(game.getState(), copy.getState());
+        assertEquals(game.getCurrentTurnPlayerId(), copy.getCurrentTurnPlayerId());
+        for (int seat = 0; seat < 2; seat++) {
+            Board expected = (seat == 0 ? game.getPlayer1() : game.getPlayer2()).getBoard();
+            Board actual = (seat == 0 ? copy.getPlayer1() : copy.getPlayer2()).getBoard();
+            assertEquals(expected.getOccupied(), actual.getOccupied());
+            assertEquals(expected.getHitShots(), actual.getHitShots());
+            assertEquals(expected.getMissedShots(), actual.getMissedShots());
+        }
+    }
+
+    private Game activeSalvoGame() {
+        Game game = new Game(new Player("p1", new Board(10, 10)), GameMode.SALVO);
+        game.join(new Player("p2", new Board(10, 10)));
+        game.placeFleet("p1", standardFleet());
+        game.placeFleet("p2", standardFleet());
+        return game;
+    }
+
+    private List<ShipPlacement> standardFleet() {
+        return List.of(
+                new ShipPlacement(ShipType.CARRIER,    new Coordinate(0, 0), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.BATTLESHIP, new Coordinate(0, 1), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.CRUISER,    new Coordinate(0, 2), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.SUBMARINE,  new Coordinate(0, 3), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.DESTROYER,  new Coordinate(0, 4), Orientation.HORIZONTAL)
+        );
+    }
+
     private void placeStandardFleet(Game game, String playerId) {
         // Place ships in simple rows to avoid collision
         game.placeShip(playerId, ShipType.CARRIER,    new Coordinate(0, 0), Orientation.HORIZONTAL);
@@ -0,0 +1,114 @@
+package com.frankint.battleship.infrastructure.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.frankint.battleship.api.dto.MoveRequest;
+import com.frankint.battleship.domain.model.Coordinate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BinaryStompCodecTest {
+
+    private static final String TOPIC = "/topic/user/codec-test/notifications";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private BinaryStompCodec binaryStompCodec;
+
+    private record Frame(StompHeaders headers, byte[] body) {}
+
+    @Test
+    void testSendsCborOnlyToSessionsThatAskedForIt() throws Exception {
+        BlockingQueue<Frame> jsonFrames = new LinkedBlockingQueue<>();
+        BlockingQueue<Frame> cborFrames = new LinkedBlockingQueue<>();
+        StompSession jsonSession = subscribe(null, jsonFrames);
+        StompSession cborSession = subscribe(BinaryStompCodec.CBOR, cborFrames);
+
+        // Subscriptions are registered asynchronously: send until both have one
+        for (int i = 0; i < 50 && (jsonFrames.isEmpty() || cborFrames.isEmpty()); i++) {
+            messagingTemplate.convertAndSend(TOPIC, Map.of("message", "Not your turn"));
+            Thread.sleep(100);
+        }
+        Frame json = jsonFrames.poll(5, TimeUnit.SECONDS);
+        Frame cbor = cborFrames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(json);
+        assertNotNull(cbor);
+
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, json.headers().getContentType());
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, cbor.headers().getContentType());
+        JsonNode expected = new ObjectMapper().readTree(json.body());
+        assertEquals(expected, new CBORMapper().readTree(cbor.body()));
+        assertTrue(cbor.body().length < json.body().length);
+
+        jsonSession.disconnect();
+        cborSession.disconnect();
+    }
+
+    @Test
+    void testReadsCborFramesSentAsOctetStreamOnly() {
+        byte[] body = binaryStompCodec.toCbor("{\"target\":{\"x\":3,\"y\":7}}".getBytes(StandardCharsets.UTF_8));
+        MessageConverter converter = binaryStompCodec.messageConverter();
+
+        Message<byte[]> binary = MessageBuilder.withPayload(body)
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM).build();
+        assertEquals(new MoveRequest(Coordinate.of(3, 7)), converter.fromMessage(binary, MoveRequest.class));
+
+        // Left to the JSON converter
+        assertNull(converter.fromMessage(MessageBuilder.withPayload(body).build(), MoveRequest.class));
+    }
+
+    // Plain WebSocket, the way a CBOR client has to connect
+    private StompSession subscribe(String codec, BlockingQueue<Frame> frames) throws Exception {
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        StompHeaders connectHeaders = new StompHeaders();
+        if (codec != null) {
+            connectHeaders.add(BinaryStompCodec.CODEC_HEADER, codec);
+        }
+        StompSession session = client.connectAsync("ws://localhost:{port}/ws/websocket", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() {}, port).get(5, TimeUnit.SECONDS);
+
+        session.subscribe(TOPIC, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                frames.add(new Frame(headers, (byte[]) payload));
+            }
+        });
+        return session;
+    }
+}
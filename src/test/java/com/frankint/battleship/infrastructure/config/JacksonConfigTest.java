@@ -0,0 +1,38 @@
+package com.frankint.battleship.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.api.dto.MoveRequest;
+import com.frankint.battleship.domain.model.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JacksonConfig().battleshipModule());
+
+    @Test
+    void testCoordinateDeserializesToCanonicalInstance() throws Exception {
+        MoveRequest request = objectMapper.readValue("{\"target\":{\"y\":4,\"x\":2}}", MoveRequest.class);
+
+        assertSame(Coordinate.of(2, 4), request.target());
+    }
+
+    @Test
+    void testCoordinateRoundTrip() throws Exception {
+        String json = objectMapper.writeValueAsString(Coordinate.of(1, 9));
+
+        assertSame(Coordinate.of(1, 9), objectMapper.readValue(json, Coordinate.class));
+    }
+
+    @Test
+    void testNegativeCoordinateIsRejected() {
+        assertThrows(Exception.class, () -> objectMapper.readValue("{\"x\":-1,\"y\":0}", Coordinate.class));
+    }
+
+    @Test
+    void testMissingFieldIsRejected() {
+        assertThrows(Exception.class, () -> objectMapper.readValue("{\"x\":1}", Coordinate.class));
+    }
+}
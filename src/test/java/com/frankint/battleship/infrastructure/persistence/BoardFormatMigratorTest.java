@@ -0,0 +1,84 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.entity.PlayerEntity;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaPlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BoardFormatMigratorTest {
+
+    @Autowired
+    private BoardFormatMigrator migrator;
+
+    @Autowired
+    private JpaGameRepository jpaGameRepository;
+
+    @Autowired
+    private JpaPlayerRepository playerRepository;
+
+    @Autowired
+    private PostgresGameRepository gameRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldMigrateLegacyJsonRows() throws Exception {
+        Board board = new Board(10, 10);
+        board.placeShip("Destroyer", 2, new Coordinate(3, 3), Orientation.VERTICAL);
+        board.fireShot(new Coordinate(3, 4));
+
+        legacyGame("legacy-game", objectMapper.writeValueAsString(board));
+
+        assertTrue(migrator.migrateBatch("").migrated() >= 1);
+
+        PlayerEntity migrated = jpaGameRepository.findById("legacy-game").orElseThrow().getPlayer1();
+        assertNull(migrated.getBoardJson());
+        assertNotNull(migrated.getBoardData());
+
+        Board loaded = gameRepository.findById("legacy-game").orElseThrow().getPlayer1().getBoard();
+        assertEquals(1, loaded.getRemainingShipCells());
+        assertTrue(loaded.isShotAt(new Coordinate(3, 4)));
+    }
+
+    @Test
+    void shouldSkipUnreadableRowsAndRowsSavedMeanwhile() throws Exception {
+        String broken = legacyGame("broken-game", "{not json").getPlayer1().getId();
+        String saved = legacyGame("saved-game", objectMapper.writeValueAsString(new Board(10, 10))).getPlayer1().getId();
+
+        // A move saved after the migrator read the row has already written boardData
+        PlayerEntity player = playerRepository.findById(saved).orElseThrow();
+        player.setBoardData(new byte[]{1, 2});
+        playerRepository.saveAndFlush(player);
+        assertEquals(0, playerRepository.convertLegacyBoard(saved, new byte[]{0}));
+        assertArrayEquals(new byte[]{1, 2}, playerRepository.findById(saved).orElseThrow().getBoardData());
+
+        // The unreadable row does not stop the rest
+        String valid = legacyGame("valid-game", objectMapper.writeValueAsString(new Board(10, 10))).getPlayer1().getId();
+        migrator.migrate();
+        assertNotNull(playerRepository.findById(broken).orElseThrow().getBoardJson());
+        assertNotNull(playerRepository.findById(valid).orElseThrow().getBoardData());
+        assertNull(playerRepository.findById(valid).orElseThrow().getBoardJson());
+    }
+
+    private GameEntity legacyGame(String gameId, String boardJson) {
+        PlayerEntity legacy = new PlayerEntity();
+        legacy.setUserId("legacy-user");
+        legacy.setBoardJson(boardJson);
+        GameEntity game = new GameEntity();
+        game.setId(gameId);
+        game.setState(GameState.WAITING_FOR_PLAYER);
+        game.setCurrentTurnPlayerId("legacy-user");
+        game.setPlayer1(legacy);
+        return jpaGameRepository.saveAndFlush(game);
+    }
+}
@@ -0,0 +1,231 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.port.out.GameRepository;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaArchivedGameRepository;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaGameEventRepository;
+import com.frankint.battleship.infrastructure.persistence.mapper.ArchivedGameMapper;
+import com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "battleship.persistence.mode=event-log",
+        "battleship.event-log.snapshot-interval=10",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.frankint.battleship.infrastructure.persistence.SqlStatementCounter"
+})
+class EventLogGameRepositoryTest {
+
+    @Autowired
+    private EventLogGameRepository eventLogRepository;
+
+    @Autowired
+    private JpaGameRepository jpaGameRepository;
+
+    @Autowired
+    private JpaGameEventRepository eventRepository;
+
+    @Autowired
+    private GameEntityMapper mapper;
+
+    @Autowired
+    private GameArchiver archiver;
+
+    @Autowired
+    private JpaArchivedGameRepository archiveRepository;
+
+    @Autowired
+    private ArchivedGameMapper archivedGameMapper;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void shouldRebuildGameFromSnapshotAndEvents() {
+        Game played = playFullGame(eventLogRepository);
+
+        Game loaded = tx.execute(status -> eventLogRepository.findById(played.getId()).orElseThrow());
+
+        assertEquals(GameState.FINISHED, loaded.getState());
+        assertEquals(played.getWinnerId(), loaded.getWinnerId());
+        assertBoardsEqual(played.getPlayer1().getBoard(), loaded.getPlayer1().getBoard());
+        assertBoardsEqual(played.getPlayer2().getBoard(), loaded.getPlayer2().getBoard());
+
+        // Finishing writes a snapshot covering the whole log
+        Integer lastSeq = eventRepository.findLastSeq(played.getId());
+        assertEquals(lastSeq, jpaGameRepository.findById(played.getId()).orElseThrow().getSnapshotSeq());
+    }
+
+    @Test
+    void shouldReplayTailsInHistory() {
+        String gameId = placedGame("carol", "dave");
+        Coordinate target = new Coordinate(5, 5);
+        step(eventLogRepository, gameId, game -> game.fire(game.getCurrentTurnPlayerId(), target));
+
+        // Join and placements were snapshotted, the shot is only in the log
+        assertEquals(3, jpaGameRepository.findById(gameId).orElseThrow().getSnapshotSeq());
+
+        List<Game> history = tx.execute(status -> eventLogRepository.findGamesByPlayer("dave"));
+        Game listed = history.stream().filter(g -> g.getId().equals(gameId)).findFirst().orElseThrow();
+        Board shotAt = listed.getCurrentTurnPlayerId().equals("carol")
+                ? listed.getPlayer1().getBoard() : listed.getPlayer2().getBoard();
+        assertTrue(shotAt.isShotAt(target));
+
+        tx.executeWithoutResult(status -> eventLogRepository.delete(gameId));
+        assertNull(eventRepository.findLastSeq(gameId));
+        assertTrue(jpaGameRepository.findById(gameId).isEmpty());
+    }
+
+    @Test
+    void shouldArchiveTheEventsPastTheSnapshot() {
+        String gameId = placedGame("erin", "frank");
+        Coordinate first = new Coordinate(2, 3);
+        Coordinate second = new Coordinate(7, 1);
+        step(eventLogRepository, gameId, game -> game.fire(game.getCurrentTurnPlayerId(), first));
+        Game played = step(eventLogRepository, gameId, game -> game.fire(game.getCurrentTurnPlayerId(), second));
+        assertTrue(jpaGameRepository.findById(gameId).orElseThrow().getSnapshotSeq() < eventRepository.findLastSeq(gameId));
+
+        // Hidden by both seats, so archived while still ACTIVE
+        eventLogRepository.hideGame(gameId, "erin");
+        eventLogRepository.hideGame(gameId, "frank");
+        while (tx.execute(status -> archiver.archiveBatch(Instant.now())) > 0) {
+            // Next batch
+        }
+        assertTrue(jpaGameRepository.findById(gameId).isEmpty());
+        assertNull(eventRepository.findLastSeq(gameId));
+
+        Game archived = archivedGameMapper.toDomain(archiveRepository.findById(gameId).orElseThrow());
+        assertEquals(played.getState(), archived.getState());
+        assertEquals(played.getCurrentTurnPlayerId(), archived.getCurrentTurnPlayerId());
+        assertBoardsEqual(played.getPlayer1().getBoard(), archived.getPlayer1().getBoard());
+        assertBoardsEqual(played.getPlayer2().getBoard(), archived.getPlayer2().getBoard());
+        assertTrue(archived.getPlayer1().getBoard().isShotAt(second) || archived.getPlayer2().getBoard().isShotAt(second));
+    }
+
+    /**
+     * INSERT and UPDATE statements, all statements and payload bytes per move, event log vs. updating the
+     * games/players rows through GameEntityMapper on every save.
+     */
+    @Test
+    void compareWriteCostPerMove() {
+        BoardCodec codec = new BoardCodec();
+        PostgresGameRepository stateRepository = new PostgresGameRepository(jpaGameRepository, mapper);
+
+        // The board that was shot at is written on every save
+        MoveCost state = new MoveCost();
+        playFullGame(stateRepository, state, game -> {
+            String target = game.getState() == GameState.FINISHED
+                    ? (game.getWinnerId().equals("alice") ? "bob" : "alice")
+                    : game.getCurrentTurnPlayerId();
+            Player targetPlayer = game.getPlayer1().getId().equals(target) ? game.getPlayer1() : game.getPlayer2();
+            state.bytes += codec.encode(targetPlayer.getBoard()).length;
+        });
+
+        // The shot's payload, plus both boards whenever a snapshot is taken
+        MoveCost log = new MoveCost();
+        Integer[] snapshotSeq = {null};
+        playFullGame(eventLogRepository, log, game -> {
+            int lastSeq = eventRepository.findLastSeq(game.getId());
+            log.bytes += eventRepository.findByGameIdAndSeqGreaterThanOrderBySeqAsc(game.getId(), lastSeq - 1)
+                    .get(0).getPayload().length;
+            Integer seq = jpaGameRepository.findById(game.getId()).orElseThrow().getSnapshotSeq();
+            if (!seq.equals(snapshotSeq[0])) {
+                log.bytes += codec.encode(game.getPlayer1().getBoard()).length
+                        + codec.encode(game.getPlayer2().getBoard()).length;
+                snapshotSeq[0] = seq;
+            }
+        });
+
+        assertEquals(state.moves, log.moves);
+        assertTrue(log.writes < state.writes, "event log: " + log + ", state: " + state);
+        assertTrue(log.bytes * 3 < state.bytes, "event log: " + log + ", state: " + state);
+    }
+
+    private static class MoveCost {
+        int moves;
+        long writes;
+        long statements;
+        long bytes;
+
+        @Override
+        public String toString() {
+            return String.format("%.2f writes, %.2f statements, %d payload bytes per move (%d moves)",
+                    (double) writes / moves, (double) statements / moves, bytes / moves, moves);
+        }
+    }
+
+    private Game playFullGame(GameRepository repository) {
+        return playFullGame(repository, new MoveCost(), game -> {});
+    }
+
+    /**
+     * Plays a whole game with one transaction per step, the way GameService does.
+     * Only the shot transactions are counted in {@code cost}; {@code afterMove} runs after each commit.
+     */
+    private Game playFullGame(GameRepository repository, MoveCost cost, Consumer<Game> afterMove) {
+        SplittableRandom rng = new SplittableRandom(42);
+        String gameId = tx.execute(status -> repository.save(new Game(new Player("alice", new Board(10, 10)))).getId());
+        step(repository, gameId, game -> game.join(new Player("bob", new Board(10, 10))));
+        step(repository, gameId, game -> game.autoPlaceFleet("alice", rng));
+        step(repository, gameId, game -> game.autoPlaceFleet("bob", rng));
+
+        int[] nextCell = {0, 0};
+        Game game;
+        do {
+            long writesBefore = writeStatements();
+            long statementsBefore = SqlStatementCounter.statements().size();
+            game = step(repository, gameId, g -> {
+                int seat = g.getCurrentTurnPlayerId().equals("alice") ? 0 : 1;
+                int cell = nextCell[seat]++;
+                g.fire(g.getCurrentTurnPlayerId(), Coordinate.of(cell % 10, cell / 10));
+            });
+            cost.moves++;
+            cost.writes += writeStatements() - writesBefore;
+            cost.statements += SqlStatementCounter.statements().size() - statementsBefore;
+            afterMove.accept(game);
+        } while (game.getState() != GameState.FINISHED);
+        return game;
+    }
+
+    private String placedGame(String p1, String p2) {
+        return tx.execute(status -> {
+            Game game = new Game(new Player(p1, new Board(10, 10)));
+            eventLogRepository.save(game);
+            game.join(new Player(p2, new Board(10, 10)));
+            eventLogRepository.save(game);
+            game.autoPlaceFleet(p1, new SplittableRandom(1));
+            game.autoPlaceFleet(p2, new SplittableRandom(2));
+            eventLogRepository.save(game);
+            return game.getId();
+        });
+    }
+
+    private static long writeStatements() {
+        return SqlStatementCounter.count("insert") + SqlStatementCounter.count("update");
+    }
+
+    private Game step(GameRepository repository, String gameId, Consumer<Game> action) {
+        return tx.execute(status -> {
+            Game game = repository.findById(gameId).orElseThrow();
+            action.accept(game);
+            return repository.save(game);
+        });
+    }
+
+    private static void assertBoardsEqual(Board expected, Board actual) {
+        assertEquals(expected.getOccupied(), actual.getOccupied());
+        assertEquals(expected.getHitShots(), actual.getHitShots());
+        assertEquals(expected.getMissedShots(), actual.getMissedShots());
+        assertEquals(expected.getRemainingShipCells(), actual.getRemainingShipCells());
+    }
+}
@@ -0,0 +1,112 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.service.GameService;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.entity.ArchivedGameEntity;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaArchivedGameRepository;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaPlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GameArchiverTest {
+
+    @Autowired
+    private GameArchiver archiver;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private JpaGameRepository gameRepository;
+
+    @Autowired
+    private JpaPlayerRepository playerRepository;
+
+    @Autowired
+    private JpaArchivedGameRepository archiveRepository;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void archivesOldFinishedAndDoublyHiddenGames() {
+        String finished = finishedGame("erin", "frank");
+        String hidden = gameService.createGame("erin").getId();
+        gameService.joinGame(hidden, "frank");
+        gameService.hideGame(hidden, "erin");
+        gameService.hideGame(hidden, "frank");
+        String hiddenByOne = gameService.createGame("erin").getId();
+        gameService.hideGame(hiddenByOne, "erin");
+        Game before = gameService.getGame(finished);
+
+        // Not old enough yet: only the doubly hidden game goes
+        archiveAll(Instant.now().minus(Duration.ofDays(1)));
+        assertTrue(gameRepository.existsById(finished));
+        assertFalse(gameRepository.existsById(hidden));
+        assertTrue(gameRepository.existsById(hiddenByOne));
+
+        long seats = playerRepository.count();
+        archiveAll(Instant.now().plusSeconds(1));
+        assertFalse(gameRepository.existsById(finished));
+        assertTrue(gameRepository.existsById(hiddenByOne));
+        assertEquals(seats - 2, playerRepository.count());
+
+        // Still served, from the archive
+        Game archived = gameService.getGame(finished);
+        assertEquals(GameState.FINISHED, archived.getState());
+        assertEquals(before.getWinnerId(), archived.getWinnerId());
+        assertEquals(Set.copyOf(before.getPlayer1().getBoard().getHitShots()),
+                Set.copyOf(archived.getPlayer1().getBoard().getHitShots()));
+        assertEquals(Set.copyOf(before.getPlayer2().getBoard().getMissedShots()),
+                Set.copyOf(archived.getPlayer2().getBoard().getMissedShots()));
+        assertEquals(before.getPlayer2().getBoard().getShipCount(), archived.getPlayer2().getBoard().getShipCount());
+        assertEquals("frank", gameService.getGame(hidden).getPlayer2().getId());
+
+        ArchivedGameEntity row = archiveRepository.findById(finished).orElseThrow();
+        assertNotNull(row.getFinishedAt());
+        assertTrue(row.getBoards().length > 0);
+    }
+
+    private void archiveAll(Instant finishedBefore) {
+        while (tx.execute(status -> archiver.archiveBatch(finishedBefore)) > 0) {
+            // Next batch
+        }
+    }
+
+    // p1 sweeps the board row by row, p2 fires at random, until one fleet is gone
+    private String finishedGame(String p1, String p2) {
+        String gameId = gameService.createGame(p1).getId();
+        gameService.joinGame(gameId, p2);
+        gameService.autoPlaceFleet(gameId, p1);
+        gameService.autoPlaceFleet(gameId, p2);
+
+        SplittableRandom random = new SplittableRandom(7);
+        Game game = gameService.getGame(gameId);
+        int next = 0;
+        while (game.getState() != GameState.FINISHED) {
+            String shooter = game.getCurrentTurnPlayerId();
+            if (shooter.equals(p1)) {
+                game = gameService.makeMove(gameId, p1, Coordinate.of(next % 10, next / 10));
+                next++;
+            } else {
+                Board target = game.getPlayer1().getBoard();
+                Coordinate shot;
+                do {
+                    shot = Coordinate.of(random.nextInt(10), random.nextInt(10));
+                } while (target.isShotAt(shot));
+                game = gameService.makeMove(gameId, p2, shot);
+            }
+        }
+        return gameId;
+    }
+}
@@ -0,0 +1,245 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.mapper.BoardCodec;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameRecordCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalGameRepositoryTest {
+
+    private static final int REGION = 1 << 16; // Small, so the tests cross regions
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void gamesVisibilityAndDeletesSurviveARestart() throws IOException {
+        JournalGameRepository repository = open(dir);
+        Game played = startedGame(repository, new SplittableRandom(1));
+        fireRandomShots(repository, played.getId(), new SplittableRandom(2), 30);
+        Game hidden = startedGame(repository, new SplittableRandom(3));
+        repository.hideGame(hidden.getId(), "alice");
+        Game deleted = startedGame(repository, new SplittableRandom(4));
+        repository.delete(deleted.getId());
+
+        Game before = repository.findById(played.getId()).orElseThrow();
+        List<GameSummary> summaries = repository.findGameSummaries("bob", null, 10);
+        repository.close();
+
+        JournalGameRepository reopened = open(dir);
+        Game after = reopened.findById(played.getId()).orElseThrow();
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals(before.getState(), after.getState());
+        assertEquals(before.getCurrentTurnPlayerId(), after.getCurrentTurnPlayerId());
+        assertEquals(shots(before), shots(after));
+        assertTrue(reopened.findById(deleted.getId()).isEmpty());
+        assertEquals(List.of(played.getId()), reopened.findGamesByPlayer("alice").stream().map(Game::getId).toList());
+        assertEquals(summaries, reopened.findGameSummaries("bob", null, 10));
+
+        // Versions carry over, so an outdated copy is still rejected
+        Game outdated = before.copy();
+        outdated.setVersion(before.getVersion() - 1);
+        assertThrows(OptimisticLockingFailureException.class, () -> reopened.save(outdated));
+        reopened.close();
+    }
+
+    @Test
+    void tornRecordIsDroppedOnRecovery() throws IOException {
+        JournalGameRepository repository = open(dir);
+        Game game = startedGame(repository, new SplittableRandom(5));
+        fireRandomShots(repository, game.getId(), new SplittableRandom(6), 10);
+        Game intact = repository.findById(game.getId()).orElseThrow();
+        fireRandomShots(repository, game.getId(), new SplittableRandom(7), 1);
+        repository.close();
+
+        // The last save only half made it to the file
+        try (FileChannel channel = FileChannel.open(journalFile(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long last = lastRecordOffset(channel);
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, last);
+            int half = length.getInt(0) / 2;
+            channel.write(ByteBuffer.allocate(half), last + 8 + half);
+        }
+
+        JournalGameRepository reopened = open(dir);
+        Game recovered = reopened.findById(game.getId()).orElseThrow();
+        assertEquals(intact.getVersion(), recovered.getVersion());
+        assertEquals(shots(intact), shots(recovered));
+
+        // Appends carry on from the last complete record
+        fireRandomShots(reopened, game.getId(), new SplittableRandom(8), 2);
+        Game latest = reopened.findById(game.getId()).orElseThrow();
+        reopened.close();
+        assertEquals(shots(latest), shots(open(dir).findById(game.getId()).orElseThrow()));
+    }
+
+    @Test
+    void compactionKeepsOneRecordPerGame() throws IOException {
+        JournalGameRepository repository = open(dir);
+        List<String> gameIds = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 20; i++) {
+            Game game = startedGame(repository, random);
+            fireRandomShots(repository, game.getId(), random, 40);
+            gameIds.add(game.getId());
+        }
+        repository.delete(gameIds.remove(0));
+        Game sample = repository.findById(gameIds.get(0)).orElseThrow();
+
+        long before = repository.journalSize();
+        repository.compact();
+        assertTrue(repository.journalSize() * 10 < before, before + " -> " + repository.journalSize());
+        assertEquals("journal-00000002.log", journalFile().getFileName().toString());
+
+        // Appends after the swap go to the new journal
+        fireRandomShots(repository, sample.getId(), random, 1);
+        Game latest = repository.findById(sample.getId()).orElseThrow();
+        repository.close();
+
+        JournalGameRepository reopened = open(dir);
+        assertEquals(gameIds.size(), reopened.findGamesByPlayer("alice").size());
+        assertEquals(shots(latest), shots(reopened.findById(sample.getId()).orElseThrow()));
+        reopened.close();
+    }
+
+    /**
+     * Kills a process in the middle of saving moves, then checks every recovered game is one that was saved:
+     * each save is one shot, so a game's version must match the shots on its boards.
+     */
+    @Test
+    void survivesKillDashNine() throws Exception {
+        Process writer = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                Writer.class.getName(), dir.toString())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+            String line;
+            while ((line = out.readLine()) != null && !line.equals("firing")) {
+                // Skip logging until the shooting starts
+            }
+            assertNotNull(line, "writer exited before firing");
+            Thread.sleep(300);
+            writer.destroyForcibly().waitFor();
+        }
+
+        JournalGameRepository recovered = open(dir);
+        List<Game> games = recovered.findGamesByPlayer("alice");
+        assertEquals(Writer.GAMES, games.size());
+        long shotsFired = 0;
+        for (Game game : games) {
+            int shots = shots(game).size();
+            assertEquals(Writer.SETUP_SAVES + shots, game.getVersion() + 1, game.getId());
+            shotsFired += shots;
+        }
+        assertTrue(shotsFired > 0);
+        recovered.close();
+    }
+
+    // Saves shots into a journal until it is killed
+    static class Writer {
+        static final int GAMES = 50;
+        static final int SETUP_SAVES = 4; // Created, joined, two fleets placed
+
+        public static void main(String[] args) throws IOException {
+            JournalGameRepository repository = open(Path.of(args[0]));
+            SplittableRandom random = new SplittableRandom(42);
+            List<String> gameIds = new ArrayList<>();
+            for (int i = 0; i < GAMES; i++) {
+                gameIds.add(startedGame(repository, random).getId());
+            }
+            System.out.println("firing");
+            System.out.flush();
+            while (true) {
+                String gameId = gameIds.get(random.nextInt(GAMES));
+                if (repository.findById(gameId).orElseThrow().getState() == GameState.ACTIVE) {
+                    fireRandomShots(repository, gameId, random, 1);
+                }
+            }
+        }
+    }
+
+    private static JournalGameRepository open(Path dir) throws IOException {
+        return new JournalGameRepository(new GameRecordCodec(new BoardCodec()), dir, REGION, Long.MAX_VALUE);
+    }
+
+    private static Game startedGame(JournalGameRepository repository, SplittableRandom random) {
+        Game game = new Game(new Player("alice", new Board(10, 10)));
+        repository.save(game);
+        game = repository.findById(game.getId()).orElseThrow();
+        game.join(new Player("bob", new Board(10, 10)));
+        repository.save(game);
+        for (String player : List.of("alice", "bob")) {
+            game = repository.findById(game.getId()).orElseThrow();
+            game.autoPlaceFleet(player, random);
+            repository.save(game);
+        }
+        return game;
+    }
+
+    // Each shot is its own load and save, as a move through GameService would be
+    private static void fireRandomShots(JournalGameRepository repository, String gameId, SplittableRandom random,
+                                        int count) {
+        for (int i = 0; i < count; i++) {
+            Game game = repository.findById(gameId).orElseThrow();
+            if (game.getState() != GameState.ACTIVE) return;
+            String shooter = game.getCurrentTurnPlayerId();
+            Board target = (shooter.equals("alice") ? game.getPlayer2() : game.getPlayer1()).getBoard();
+            Coordinate cell;
+            do {
+                cell = Coordinate.of(random.nextInt(10), random.nextInt(10));
+            } while (target.isShotAt(cell));
+            game.fire(shooter, cell);
+            repository.save(game);
+        }
+    }
+
+    private static List<Coordinate> shots(Game game) {
+        List<Coordinate> shots = new ArrayList<>();
+        for (Player player : List.of(game.getPlayer1(), game.getPlayer2())) {
+            shots.addAll(player.getBoard().getHitShots());
+            shots.addAll(player.getBoard().getMissedShots());
+        }
+        // Boards come back from the journal with their shots in row-major order
+        shots.sort((a, b) -> a.y() != b.y() ? Integer.compare(a.y(), b.y()) : Integer.compare(a.x(), b.x()));
+        return shots;
+    }
+
+    private Path journalFile() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+    }
+
+    private static long lastRecordOffset(FileChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        long offset = 8;
+        long last = -1;
+        while (offset + 8 <= channel.size()) {
+            length.clear();
+            channel.read(length, offset);
+            if (length.getInt(0) == 0) break;
+            last = offset;
+            offset += 8 + length.getInt(0);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,111 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.service.GameService;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.jpa.JpaPlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.frankint.battleship.infrastructure.persistence.SqlStatementCounter")
+class PostgresGameRepositoryTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private PostgresGameRepository gameRepository;
+
+    @Autowired
+    private JpaGameRepository jpaGameRepository;
+
+    @Autowired
+    private JpaPlayerRepository playerRepository;
+
+    private String gameId;
+
+    @BeforeEach
+    void setUp() {
+        gameId = gameService.createGame("alice").getId();
+        gameService.joinGame(gameId, "bob");
+        gameService.placeFleet(gameId, "alice", fleet());
+        gameService.placeFleet(gameId, "bob", fleet());
+    }
+
+    @Test
+    void moveCostsOneReadAndTwoWrites() {
+        byte[] shooterBoard = jpaGameRepository.findById(gameId).orElseThrow().getPlayer1().getBoardData();
+
+        SqlStatementCounter.reset();
+        gameService.makeMove(gameId, "alice", new Coordinate(0, 0));
+
+        List<String> sql = SqlStatementCounter.statements();
+        assertEquals(1, SqlStatementCounter.count("select"), sql::toString);
+        assertEquals(2, SqlStatementCounter.count("update"), sql::toString);
+        assertEquals(3, sql.size(), sql::toString);
+
+        // Only the opponent's board and the turn were written
+        assertTrue(sql.stream().anyMatch(s -> s.startsWith("update players set board_data=?")), sql::toString);
+        assertTrue(sql.stream().anyMatch(s -> s.startsWith("update games set current_turn_player_id=?")), sql::toString);
+
+        Game game = gameRepository.findById(gameId).orElseThrow();
+        assertEquals("bob", game.getCurrentTurnPlayerId());
+        assertTrue(game.getPlayer2().getBoard().isShotAt(new Coordinate(0, 0)));
+        assertArrayEquals(shooterBoard, jpaGameRepository.findById(gameId).orElseThrow().getPlayer1().getBoardData());
+    }
+
+    @Test
+    void movesDoNotInsertNewSeatRows() {
+        long seats = playerRepository.count();
+
+        gameService.makeMove(gameId, "alice", new Coordinate(9, 9));
+        gameService.makeMove(gameId, "bob", new Coordinate(9, 9));
+
+        assertEquals(seats, playerRepository.count());
+    }
+
+    @Test
+    void historyPagesAreNewestFirstSkipHiddenGamesAndNeverReadBoards() {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(gameService.createGame("carol").getId());
+        }
+        gameService.joinGame(created.get(4), "dave");
+        gameService.hideGame(created.get(2), "carol");
+
+        SqlStatementCounter.reset();
+        GameService.HistoryPage first = gameService.getPlayerHistoryPage("carol", null, 2);
+        GameService.HistoryPage second = gameService.getPlayerHistoryPage("carol", first.next(), 2);
+
+        assertEquals(List.of(created.get(4), created.get(3)), first.games().stream().map(GameSummary::gameId).toList());
+        assertEquals("dave", first.games().get(0).opponentOf("carol"));
+        assertEquals(List.of(created.get(1), created.get(0)), second.games().stream().map(GameSummary::gameId).toList());
+        assertNull(second.next());
+
+        // One query per page, and no board column in either
+        List<String> sql = SqlStatementCounter.statements();
+        assertEquals(2, sql.size(), sql::toString);
+        assertTrue(sql.stream().noneMatch(s -> s.contains("board")), sql::toString);
+
+        // Dave's view of the same data
+        assertEquals(List.of(created.get(4)),
+                gameService.getPlayerHistoryPage("dave", null, 10).games().stream().map(GameSummary::gameId).toList());
+    }
+
+    private static List<ShipPlacement> fleet() {
+        return List.of(
+                new ShipPlacement(ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.BATTLESHIP, new Coordinate(0, 1), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.CRUISER, new Coordinate(0, 2), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.SUBMARINE, new Coordinate(0, 3), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.DESTROYER, new Coordinate(0, 4), Orientation.HORIZONTAL)
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package com.frankint.battleship.infrastructure.persistence;
+
+import com.frankint.battleship.application.service.GameService;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import com.frankint.battleship.infrastructure.persistence.mapper.GameEntityMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "battleship.persistence.mode=write-behind",
+        "battleship.write-behind.flush-interval-ms=3600000" // Flushed by hand below
+})
+class WriteBehindGameRepositoryTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private WriteBehindGameRepository repository;
+
+    @Autowired
+    private JpaGameRepository jpaGameRepository;
+
+    @Autowired
+    private GameEntityMapper mapper;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void movesReachPostgresOnFlush() {
+        String gameId = startGame(gameService);
+        repository.flush();
+
+        gameService.makeMove(gameId, "alice", new Coordinate(0, 0));
+        gameService.makeMove(gameId, "bob", new Coordinate(9, 9));
+
+        assertEquals("bob", gameService.makeMove(gameId, "alice", new Coordinate(1, 0)).getCurrentTurnPlayerId());
+
+        // Served from memory, not written yet
+        assertFalse(storedGame(gameId).getPlayer2().getBoard().isShotAt(new Coordinate(0, 0)));
+
+        // Three moves, one write
+        assertEquals(1, repository.flush());
+        Game stored = storedGame(gameId);
+        assertEquals("bob", stored.getCurrentTurnPlayerId());
+        assertTrue(stored.getPlayer2().getBoard().isShotAt(new Coordinate(1, 0)));
+        assertTrue(stored.getPlayer1().getBoard().isShotAt(new Coordinate(9, 9)));
+        assertEquals(0, repository.flush());
+    }
+
+    @Test
+    void finishingIsWrittenSynchronously() {
+        String gameId = startGame(gameService);
+
+        // Alice sinks Bob's fleet while Bob keeps missing from the bottom row up
+        int bobShots = 0;
+        fleet:
+        for (ShipPlacement ship : fleet()) {
+            for (int i = 0; i < ship.type().getSize(); i++) {
+                Game game = gameService.makeMove(gameId, "alice", Coordinate.of(ship.start().x() + i, ship.start().y()));
+                if (game.getState() == GameState.FINISHED) break fleet;
+                gameService.makeMove(gameId, "bob", Coordinate.of(bobShots % 10, 9 - bobShots / 10));
+                bobShots++;
+            }
+        }
+
+        GameEntity row = jpaGameRepository.findById(gameId).orElseThrow();
+        assertEquals(GameState.FINISHED, row.getState());
+        assertEquals("alice", row.getWinnerId());
+        // Bob's misses from before the finish were written along with it
+        assertTrue(storedGame(gameId).getPlayer1().getBoard().getMissedShots().size() >= 10);
+    }
+
+    @Test
+    void staleMoveAfterTheFinishDoesNotReopenTheGame() {
+        String gameId = startGame(gameService);
+
+        // Alice sinks Bob's fleet; keep the game as it was read before her last move
+        Game stale = null;
+        int bobShots = 0;
+        fleet:
+        for (ShipPlacement ship : fleet()) {
+            for (int i = 0; i < ship.type().getSize(); i++) {
+                stale = repository.findById(gameId).orElseThrow();
+                Game game = gameService.makeMove(gameId, "alice", Coordinate.of(ship.start().x() + i, ship.start().y()));
+                if (game.getState() == GameState.FINISHED) break fleet;
+                gameService.makeMove(gameId, "bob", Coordinate.of(bobShots % 10, 9 - bobShots / 10));
+                bobShots++;
+            }
+        }
+
+        Game lateMove = stale;
+        lateMove.fire("alice", new Coordinate(9, 9));
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(lateMove));
+
+        repository.flush();
+        assertEquals(GameState.FINISHED, repository.findById(gameId).orElseThrow().getState());
+        assertEquals(GameState.FINISHED, jpaGameRepository.findById(gameId).orElseThrow().getState());
+    }
+
+    @Test
+    void shutdownFlushesPendingGames() {
+        String gameId = startGame(gameService);
+        gameService.makeMove(gameId, "alice", new Coordinate(5, 5));
+
+        repository.flushOnShutdown();
+
+        assertEquals("bob", jpaGameRepository.findById(gameId).orElseThrow().getCurrentTurnPlayerId());
+    }
+
+    private Game storedGame(String gameId) {
+        return tx.execute(s -> mapper.toDomain(jpaGameRepository.findById(gameId).orElseThrow()));
+    }
+
+    private static String startGame(GameService service) {
+        String gameId = service.createGame("alice").getId();
+        service.joinGame(gameId, "bob");
+        service.placeFleet(gameId, "alice", fleet());
+        service.placeFleet(gameId, "bob", fleet());
+        return gameId;
+    }
+
+    private static List<ShipPlacement> fleet() {
+        return List.of(
+                new ShipPlacement(ShipType.CARRIER, new Coordinate(0, 0), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.BATTLESHIP, new Coordinate(0, 1), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.CRUISER, new Coordinate(0, 2), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.SUBMARINE, new Coordinate(0, 3), Orientation.HORIZONTAL),
+                new ShipPlacement(ShipType.DESTROYER, new Coordinate(0, 4), Orientation.HORIZONTAL)
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardCodecTest {
+
+    private final BoardCodec codec = new BoardCodec();
+
+    @Test
+    void testRoundTripPreservesBoardState() {
+        Board board = new Board(10, 10);
+        board.placeShip("Carrier", 5, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip("Destroyer", 2, new Coordinate(9, 8), Orientation.VERTICAL);
+        board.placeShip("custom-ship", 1, new Coordinate(5, 5), Orientation.HORIZONTAL);
+        board.fireShot(new Coordinate(9, 8));
+        board.fireShot(new Coordinate(9, 9)); // sinks Destroyer
+        board.fireShot(new Coordinate(2, 0));
+        board.fireShot(new Coordinate(3, 3)); // miss
+
+        Board decoded = codec.decode(codec.encode(board));
+
+        assertEquals(board.getWidth(), decoded.getWidth());
+        assertEquals(board.getHeight(), decoded.getHeight());
+        assertEquals(board.getOccupied(), decoded.getOccupied());
+        assertEquals(new HashSet<>(board.getHitShots()), new HashSet<>(decoded.getHitShots()));
+        assertEquals(board.getMissedShots(), decoded.getMissedShots());
+        assertEquals(board.getRemainingShipCells(), decoded.getRemainingShipCells());
+        assertEquals("Destroyer", decoded.getSunkShips().get(0).getId());
+        assertEquals("custom-ship", decoded.getShips().get(2).getId());
+        assertEquals(4, decoded.getShips().get(0).getHealth());
+        assertEquals(board.getShips().get(1).getCoordinates(), decoded.getShips().get(1).getCoordinates());
+    }
+
+    @Test
+    void testLargeBoardRoundTrip() {
+        Board board = new Board(300, 200);
+        board.autoPlace(ShipType.values(), new SplittableRandom(3));
+        board.fireShot(new Coordinate(299, 199));
+
+        Board decoded = codec.decode(codec.encode(board));
+
+        assertEquals(board.getOccupied(), decoded.getOccupied());
+        assertTrue(decoded.isShotAt(new Coordinate(299, 199)));
+    }
+
+    @Test
+    void testRejectsUnknownVersionAndTruncatedData() {
+        byte[] data = codec.encode(new Board(10, 10));
+
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(data));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{BoardCodec.VERSION_1, 10}));
+    }
+
+    /**
+     * Bytes per game (both boards) against the legacy Jackson boardJson, on a finished game.
+     */
+    @Test
+    void testBinaryIsMuchSmallerThanJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JacksonConfig().battleshipModule());
+        SplittableRandom rng = new SplittableRandom(11);
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+
+        for (int game = 0; game < 100; game++) {
+            for (int seat = 0; seat < 2; seat++) {
+                Board board = new Board(10, 10);
+                board.autoPlace(ShipType.values(), rng);
+                while (!board.allShipsSunk()) {
+                    board.fireShot(Coordinate.of(rng.nextInt(10), rng.nextInt(10)));
+                }
+                jsonBytes += objectMapper.writeValueAsBytes(board).length;
+                binaryBytes += codec.encode(board).length;
+            }
+        }
+        assertTrue(binaryBytes * 20 < jsonBytes, "binary " + binaryBytes + " vs json " + jsonBytes);
+    }
+}
@@ -0,0 +1,110 @@
+package com.frankint.battleship.infrastructure.persistence.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frankint.battleship.domain.model.*;
+import com.frankint.battleship.infrastructure.config.JacksonConfig;
+import com.frankint.battleship.infrastructure.persistence.entity.GameEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEntityMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JacksonConfig().battleshipModule());
+    private final GameEntityMapper mapper = new GameEntityMapper(objectMapper, new BoardCodec());
+
+    @Test
+    void testRoundTrip_RestoresFleetHealth() {
+        Board b1 = new Board(10, 10);
+        b1.placeShip("Destroyer", 2, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        b1.placeShip("Cruiser", 3, new Coordinate(5, 5), Orientation.VERTICAL);
+        b1.fireShot(new Coordinate(0, 0));
+        b1.fireShot(new Coordinate(1, 0)); // sinks Destroyer
+        b1.fireShot(new Coordinate(5, 5));
+        b1.fireShot(new Coordinate(9, 9)); // miss
+
+        Game game = new Game(new Player("p1", b1));
+        game.join(new Player("p2", new Board(10, 10)));
+
+        Game loaded = mapper.toDomain(mapper.toEntity(game));
+        Board board = loaded.getPlayer1().getBoard();
+
+        assertEquals(2, board.getRemainingShipCells());
+        assertEquals(1, board.getSunkShipCount());
+        assertEquals("Destroyer", board.getSunkShips().get(0).getId());
+        assertEquals(ShotResult.DUPLICATE, board.fireShot(new Coordinate(9, 9)));
+        assertEquals(ShotResult.HIT, board.fireShot(new Coordinate(5, 6)));
+        assertEquals(ShotResult.SUNK, board.fireShot(new Coordinate(5, 7)));
+        assertTrue(board.allShipsSunk());
+    }
+
+    @Test
+    void testToEntity_WritesBinaryBoardOnly() {
+        GameEntity entity = mapper.toEntity(Game.reconstitute(
+                "g1", new Player("p1", new Board(10, 10)), null, "p1", GameState.WAITING_FOR_PLAYER, null, GameMode.CLASSIC));
+
+        assertNotNull(entity.getPlayer1().getBoardData());
+        assertNull(entity.getPlayer1().getBoardJson());
+    }
+
+    @Test
+    void testUpdateEntity_ReencodesOnlyChangedBoards() {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        GameEntity entity = mapper.toEntity(game);
+        byte[] p1Board = entity.getPlayer1().getBoardData();
+
+        game.join(new Player("p2", new Board(10, 10)));
+        game.getPlayer1().getBoard().fireShot(new Coordinate(3, 3));
+        mapper.updateEntity(entity, game, Set.of("p2"));
+
+        assertSame(p1Board, entity.getPlayer1().getBoardData());
+        assertNotNull(entity.getPlayer2());
+        assertEquals(GameState.SETUP, entity.getState());
+
+        mapper.updateEntity(entity, game, Set.of("p1"));
+        assertTrue(mapper.toBoard(entity.getPlayer1()).isShotAt(new Coordinate(3, 3)));
+    }
+
+    @Test
+    void testLegacyJsonRowIsReadTransparently() throws Exception {
+        Board board = new Board(10, 10);
+        board.placeShip("Destroyer", 2, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.fireShot(new Coordinate(0, 0));
+
+        GameEntity entity = mapper.toEntity(Game.reconstitute(
+                "g1", new Player("p1", board), null, "p1", GameState.WAITING_FOR_PLAYER, null, GameMode.CLASSIC));
+        entity.getPlayer1().setBoardData(null);
+        entity.getPlayer1().setBoardJson(objectMapper.writeValueAsString(board));
+
+        Board loaded = mapper.toDomain(entity).getPlayer1().getBoard();
+
+        assertEquals(1, loaded.getRemainingShipCells());
+        assertEquals(List.of(new Coordinate(0, 0)), loaded.getHitShots());
+    }
+
+    @Test
+    void testBoardJson_OmitsDerivedState() throws Exception {
+        Board board = new Board(10, 10);
+        board.placeShip("Destroyer", 2, new Coordinate(0, 0), Orientation.HORIZONTAL);
+
+        String json = objectMapper.writeValueAsString(board);
+
+        assertFalse(json.contains("remainingShipCells"));
+        assertFalse(json.contains("sunkShips"));
+        assertFalse(json.contains("shipCount"));
+    }
+
+    @Test
+    void testLegacyBoardJsonWithShipCountStillLoads() throws Exception {
+        String legacy = "{\"width\":10,\"height\":10,\"ships\":[],\"missedShots\":[{\"x\":1,\"y\":1}]," +
+                "\"hitShots\":[],\"occupied\":[],\"shipCount\":0}";
+
+        Board board = objectMapper.readValue(legacy, Board.class);
+
+        assertEquals(ShotResult.DUPLICATE, board.fireShot(new Coordinate(1, 1)));
+    }
+}
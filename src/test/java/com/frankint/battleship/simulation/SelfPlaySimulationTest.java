@@ -0,0 +1,50 @@
+package com.frankint.battleship.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Domain-layer correctness gate, on a small fixed-seed sample in the regular build.
+ * The throughput run only happens when asked for, e.g.
+ * {@code mvn test -Dtest=SelfPlaySimulationTest -Dsimulation.games=1000000}.
+ */
+class SelfPlaySimulationTest {
+
+    private static final int THREADS = Integer.getInteger("simulation.threads", Runtime.getRuntime().availableProcessors());
+
+    private final SelfPlaySimulator simulator = new SelfPlaySimulator();
+
+    @Test
+    void testRandomShooters() throws Exception {
+        assertSound(simulator.run(new SelfPlaySimulator.Config(200, 1, SelfPlaySimulator.Shooter.RANDOM, 1L)), 200);
+    }
+
+    @Test
+    void testAiShooters() throws Exception {
+        assertSound(simulator.run(new SelfPlaySimulator.Config(10, 1, SelfPlaySimulator.Shooter.AI, 2L)), 10);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "simulation.games", matches = "\\d+")
+    void testThroughput() throws Exception {
+        long games = Long.getLong("simulation.games");
+        SelfPlaySimulator.Report random = simulator.run(
+                new SelfPlaySimulator.Config(games, THREADS, SelfPlaySimulator.Shooter.RANDOM, 1L));
+        SelfPlaySimulator.Report ai = simulator.run(
+                new SelfPlaySimulator.Config(Math.max(games / 20, 1), THREADS, SelfPlaySimulator.Shooter.AI, 2L));
+        System.out.println("Self-play (random): " + random);
+        System.out.println("Self-play (AI): " + ai);
+
+        assertSound(random, games);
+        assertSound(ai, Math.max(games / 20, 1));
+    }
+
+    // Every game was played out, with the 17 hits of a fleet and at most one shot per cell on each side
+    private static void assertSound(SelfPlaySimulator.Report report, long games) {
+        assertEquals(games, report.games());
+        assertEquals(0, report.violations(), report.toString());
+        assertTrue(report.shots() >= games * 17 && report.shots() <= games * 200, report.toString());
+    }
+}
@@ -0,0 +1,199 @@
+package com.frankint.battleship.simulation;
+
+import com.frankint.battleship.domain.ai.ProbabilityTargeting;
+import com.frankint.battleship.domain.model.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays complete games through the real domain model (no Spring, no database, no STOMP)
+ * on every core, checking rule invariants as it goes.
+ */
+public class SelfPlaySimulator {
+
+    public enum Shooter { RANDOM, AI }
+
+    public record Config(long games, int threads, Shooter shooter, long seed) {
+    }
+
+    public record Report(long games, long shots, long violations, Duration elapsed,
+                         long allocatedBytes, long gcCount, Duration gcTime) {
+
+        public double gamesPerSecond() {
+            return games / seconds();
+        }
+
+        public double shotsPerSecond() {
+            return shots / seconds();
+        }
+
+        public double allocationMbPerSecond() {
+            return allocatedBytes / seconds() / (1024 * 1024);
+        }
+
+        private double seconds() {
+            return Math.max(elapsed.toNanos(), 1) / 1e9;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d games, %,d shots in %d ms: %,.0f games/s, %,.0f shots/s, " +
+                            "%,.1f MB/s allocated, %d GCs (%d ms), %d invariant violations",
+                    games, shots, elapsed.toMillis(), gamesPerSecond(), shotsPerSecond(),
+                    allocationMbPerSecond(), gcCount, gcTime.toMillis(), violations);
+        }
+    }
+
+    private record WorkerResult(long games, long shots, long violations, long allocatedBytes) {
+    }
+
+    private final ProbabilityTargeting targeting = new ProbabilityTargeting();
+
+    public Report run(Config config) throws Exception {
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long start = System.nanoTime();
+
+        SplittableRandom root = new SplittableRandom(config.seed());
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(config.threads())) {
+            for (int t = 0; t < config.threads(); t++) {
+                long share = config.games() / config.threads() + (t < config.games() % config.threads() ? 1 : 0);
+                SplittableRandom rng = root.split();
+                futures.add(pool.submit(() -> runWorker(share, config.shooter(), rng)));
+            }
+
+            long games = 0, shots = 0, violations = 0, allocated = 0;
+            for (Future<WorkerResult> future : futures) {
+                WorkerResult r = future.get();
+                games += r.games();
+                shots += r.shots();
+                violations += r.violations();
+                allocated += r.allocatedBytes();
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new Report(games, shots, violations, elapsed, allocated,
+                    gcCount() - gcCountBefore, Duration.ofMillis(gcTimeMillis() - gcTimeBefore));
+        }
+    }
+
+    private WorkerResult runWorker(long games, Shooter shooter, SplittableRandom rng) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+
+        long shots = 0;
+        long violations = 0;
+        for (long g = 0; g < games; g++) {
+            GameResult result = playGame(shooter, rng, g % 64 == 0);
+            shots += result.shots();
+            violations += result.violations();
+        }
+        return new WorkerResult(games, shots, violations, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+    }
+
+    private record GameResult(int shots, int violations) {
+    }
+
+    private GameResult playGame(Shooter shooter, SplittableRandom rng, boolean probeDuplicates) {
+        Game game = new Game(new Player("p1", new Board(10, 10)));
+        game.join(new Player("p2", new Board(10, 10)));
+        game.autoPlaceFleet("p1", rng);
+        game.autoPlaceFleet("p2", rng);
+
+        int[][] randomOrder = {shuffledCells(rng), shuffledCells(rng)};
+        int[] next = new int[2];
+        Coordinate[] lastShot = new Coordinate[2];
+        int shots = 0;
+        int violations = 0;
+
+        while (game.getState() == GameState.ACTIVE) {
+            String shooterId = game.getCurrentTurnPlayerId();
+            int seat = shooterId.equals("p1") ? 0 : 1;
+            Board target = (seat == 0 ? game.getPlayer2() : game.getPlayer1()).getBoard();
+
+            Coordinate c = shooter == Shooter.AI
+                    ? targeting.chooseTarget(target, Duration.ofMillis(50), rng)
+                    : nextRandom(randomOrder[seat], next, seat);
+            game.fire(shooterId, c);
+            lastShot[seat] = c;
+            shots++;
+
+            // Invariant: the player now on turn cannot fire at a cell they already shot,
+            // and the rejected shot leaves the game untouched
+            Coordinate repeat = lastShot[1 - seat];
+            if (probeDuplicates && game.getState() == GameState.ACTIVE && repeat != null) {
+                String turn = game.getCurrentTurnPlayerId();
+                Board shooterBoard = (seat == 0 ? game.getPlayer1() : game.getPlayer2()).getBoard();
+                int shotsOnBoard = shooterBoard.getHitShots().size() + shooterBoard.getMissedShots().size();
+                try {
+                    game.fire(turn, repeat);
+                    violations++;
+                } catch (IllegalArgumentException e) {
+                    // Must be rejected as a repeat, not for some other reason such as the turn
+                    if (!e.getMessage().startsWith("You have already fired")) violations++;
+                }
+                if (!turn.equals(game.getCurrentTurnPlayerId())
+                        || shotsOnBoard != shooterBoard.getHitShots().size() + shooterBoard.getMissedShots().size()) {
+                    violations++;
+                }
+            }
+            if (shots > 200) {
+                violations++;
+                break;
+            }
+        }
+        violations += checkFinished(game);
+        return new GameResult(shots, violations);
+    }
+
+    // Invariant: exactly one winner, and it is the only player with ships left
+    private static int checkFinished(Game game) {
+        if (game.getState() != GameState.FINISHED || game.getWinnerId() == null) return 1;
+        boolean p1Lost = game.getPlayer1().hasLost();
+        boolean p2Lost = game.getPlayer2().hasLost();
+        if (p1Lost == p2Lost) return 1;
+        String expectedWinner = p1Lost ? "p2" : "p1";
+        return expectedWinner.equals(game.getWinnerId()) ? 0 : 1;
+    }
+
+    private static int[] shuffledCells(SplittableRandom rng) {
+        int[] cells = new int[100];
+        for (int i = 0; i < cells.length; i++) cells[i] = i;
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+        return cells;
+    }
+
+    private static Coordinate nextRandom(int[] order, int[] next, int seat) {
+        int cell = order[next[seat]++];
+        return Coordinate.of(cell % 10, cell / 10);
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+}